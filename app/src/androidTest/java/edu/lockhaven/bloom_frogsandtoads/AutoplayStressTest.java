@@ -0,0 +1,55 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Plays random moves on every board size and logs a frame time report for each.
+ * The rate and length can be changed with instrumentation arguments, for example
+ *  -e stressRate 30 -e stressMillis 10000.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AutoplayStressTest {
+
+    private static final String TAG = "AutoplayStress";
+    private static final int[] BOARD_SIZES = {3, 5, 7, 9};
+
+    @Test
+    public void stressEveryBoardSize() throws InterruptedException {
+        Bundle arguments = InstrumentationRegistry.getArguments();
+        final int RATE = Integer.parseInt(arguments.getString("stressRate", "20"));
+        final long MILLIS = Long.parseLong(arguments.getString("stressMillis", "5000"));
+
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            for (int size : BOARD_SIZES) {
+                final CountDownLatch done = new CountDownLatch(1);
+                final AutoplayStress.Report[] report = new AutoplayStress.Report[1];
+
+                scenario.onActivity(activity -> {
+                    activity.resize(size, size);
+                    new AutoplayStress(activity, RATE, MILLIS, 0.2, size).start(result -> {
+                        report[0] = result;
+                        done.countDown();
+                    });
+                });
+
+                assertTrue(done.await(MILLIS + 30_000, TimeUnit.MILLISECONDS));
+                Log.i(TAG, report[0].toString());
+                assertTrue(report[0].getMoves() > 0);
+                assertTrue(report[0].getFrames() > 0);
+            }
+        }
+    }
+}
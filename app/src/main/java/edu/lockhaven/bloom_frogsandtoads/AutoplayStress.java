@@ -0,0 +1,302 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays random legal moves on the main activity while timing every frame.
+ * Moves and undos go through the same methods a tap would, so the report
+ *  covers input handling, drawing and rendering together. The activity is
+ *  kept quiet during the run, so no messages or dialogs are shown.
+ *
+ * @author Michael Bloom
+ * @version 1.0
+ *
+ */
+public class AutoplayStress implements Choreographer.FrameCallback {
+
+    /**
+     * Receives the report once a run has finished.
+     */
+    public interface Listener {
+
+        /**
+         * Called on the main thread when the run is over.
+         * @param report is the summary of the run.
+         */
+        void onFinished(Report report);
+
+    }
+
+    private final MainActivity activity;
+    private final long moveIntervalMillis;
+    private final long durationMillis;
+    private final double undoChance;
+    private final Random random;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private Listener listener;
+    private boolean running = false;
+    private boolean metricsWereEnabled;
+
+    private long[] frames = new long[1024];
+    private int frameCount = 0;
+    private long lastFrameNanos = 0;
+    private long frameIntervalNanos;
+    private int droppedFrames = 0;
+
+    //Cleared by the garbage collector, so each time it is gone a collection has happened.
+    private WeakReference<Object> gcSentinel;
+    private int gcCount = 0;
+
+    private int moves = 0;
+    private int undos = 0;
+    private int depth = 0;
+
+    private final Runnable step = this::step;
+    private final Runnable finish = this::finish;
+
+    /**
+     * Creates a stress run.
+     * @param activity is the activity to play on.
+     * @param movesPerSecond is how many moves or undos are made each second.
+     * @param durationMillis is how long the run lasts.
+     * @param undoChance is the chance between 0 and 1 of undoing instead of moving.
+     * @param seed of the random moves, so runs can be repeated.
+     */
+    public AutoplayStress(MainActivity activity, int movesPerSecond, long durationMillis,
+                          double undoChance, long seed){
+
+        if(movesPerSecond <= 0 || durationMillis <= 0){
+            throw new IllegalArgumentException("Rate and duration must be positive.");
+        }
+
+        this.activity = activity;
+        this.moveIntervalMillis = Math.max(1, 1000 / movesPerSecond);
+        this.durationMillis = durationMillis;
+        this.undoChance = undoChance;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Starts the run. Must be called on the main thread.
+     * @param listener receives the report when the run is over.
+     */
+    public void start(Listener listener){
+
+        if(this.running){
+            throw new IllegalStateException("Stress run already started.");
+        }
+        this.running = true;
+        this.listener = listener;
+
+        //Finds how long a frame should take on this display.
+        final float REFRESH_RATE = this.activity.getWindowManager().getDefaultDisplay().getRefreshRate();
+        this.frameIntervalNanos = (long) (1_000_000_000L / (REFRESH_RATE > 0 ? REFRESH_RATE : 60));
+
+        //Draw times are read from the metrics, so they are turned on for the run.
+        this.metricsWereEnabled = Metrics.isEnabled();
+        this.activity.setMetricsEnabled(true);
+        this.activity.setQuiet(true);
+
+        this.gcSentinel = new WeakReference<>(new Object());
+        Choreographer.getInstance().postFrameCallback(this);
+        this.handler.post(this.step);
+        this.handler.postDelayed(this.finish, this.durationMillis);
+    }
+
+    /**
+     * Stops the run early without reporting.
+     */
+    public void cancel(){
+        this.running = false;
+        this.handler.removeCallbacks(this.step);
+        this.handler.removeCallbacks(this.finish);
+        Choreographer.getInstance().removeFrameCallback(this);
+        this.activity.setMetricsEnabled(this.metricsWereEnabled);
+        this.activity.setQuiet(false);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+
+        if(!this.running){
+            return;
+        }
+
+        //Records how long it has been since the last frame.
+        if(this.lastFrameNanos != 0){
+            final long DURATION = frameTimeNanos - this.lastFrameNanos;
+            if(this.frameCount == this.frames.length){
+                this.frames = Arrays.copyOf(this.frames, this.frames.length * 2);
+            }
+            this.frames[this.frameCount++] = DURATION;
+
+            //Counts every frame interval that was skipped.
+            this.droppedFrames += Math.max(0, (int) (DURATION / this.frameIntervalNanos) - 1);
+        }
+        this.lastFrameNanos = frameTimeNanos;
+
+        if(this.gcSentinel.get() == null){
+            ++this.gcCount;
+            this.gcSentinel = new WeakReference<>(new Object());
+        }
+
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Makes one random move, or undoes one.
+     */
+    private void step(){
+
+        if(!this.running){
+            return;
+        }
+
+        final FrogsAndToads GAME = this.activity.getGame();
+        final List<int[]> LEGAL_MOVES = GAME.getLegalMoves();
+
+        //Undoes when stuck, and sometimes at random, as long as there is something to undo.
+        if(this.depth > 0 && (LEGAL_MOVES.isEmpty() || this.random.nextDouble() < this.undoChance)){
+            this.activity.undo(this.activity.getSpace(GAME.getEmptySpaceRow(), GAME.getEmptySpaceColumn()));
+            --this.depth;
+            ++this.undos;
+
+        } else if(!LEGAL_MOVES.isEmpty()){
+            int[] space = LEGAL_MOVES.get(this.random.nextInt(LEGAL_MOVES.size()));
+            this.activity.toggleSpace(this.activity.getSpace(space[0], space[1]));
+            ++this.depth;
+            ++this.moves;
+        }
+
+        this.handler.postDelayed(this.step, this.moveIntervalMillis);
+    }
+
+    /**
+     * Ends the run and reports it.
+     */
+    private void finish(){
+
+        if(!this.running){
+            return;
+        }
+
+        final FrogsAndToads GAME = this.activity.getGame();
+        Report report = new Report(GAME.getRowLength(), GAME.getColumnLength(), this.durationMillis,
+                this.moves, this.undos, Arrays.copyOf(this.frames, this.frameCount),
+                this.frameIntervalNanos, this.droppedFrames, this.gcCount);
+
+        this.cancel();
+        this.listener.onFinished(report);
+    }
+
+    /**
+     * Summary of a stress run.
+     */
+    public static class Report {
+
+        private final int rows;
+        private final int columns;
+        private final long durationMillis;
+        private final int moves;
+        private final int undos;
+        private final long[] frames;
+        private final long frameIntervalNanos;
+        private final int droppedFrames;
+        private final int gcCount;
+        private final long drawP50;
+        private final long drawP99;
+
+        private Report(int rows, int columns, long durationMillis, int moves, int undos,
+                       long[] frames, long frameIntervalNanos, int droppedFrames, int gcCount){
+            this.rows = rows;
+            this.columns = columns;
+            this.durationMillis = durationMillis;
+            this.moves = moves;
+            this.undos = undos;
+            this.frames = frames;
+            this.frameIntervalNanos = frameIntervalNanos;
+            this.droppedFrames = droppedFrames;
+            this.gcCount = gcCount;
+            this.drawP50 = Metrics.UI_DRAW.percentile(0.50);
+            this.drawP99 = Metrics.UI_DRAW.percentile(0.99);
+            Arrays.sort(this.frames);
+        }
+
+        /**
+         * Retrieves the number of moves made.
+         * @return moves made.
+         */
+        public int getMoves(){
+            return this.moves;
+        }
+
+        /**
+         * Retrieves the number of undos made.
+         * @return undos made.
+         */
+        public int getUndos(){
+            return this.undos;
+        }
+
+        /**
+         * Retrieves the number of frames timed.
+         * @return frames timed.
+         */
+        public int getFrames(){
+            return this.frames.length;
+        }
+
+        /**
+         * Retrieves the number of frames that were skipped.
+         * @return dropped frames.
+         */
+        public int getDroppedFrames(){
+            return this.droppedFrames;
+        }
+
+        /**
+         * Retrieves the number of garbage collections seen.
+         * @return garbage collections.
+         */
+        public int getGcCount(){
+            return this.gcCount;
+        }
+
+        /**
+         * Retrieves a percentile of the frame times.
+         * @param fraction is the percentile between 0 and 1.
+         * @return frame time in nanoseconds, or 0 if no frames were timed.
+         */
+        public long getFramePercentile(double fraction){
+            if(this.frames.length == 0){
+                return 0;
+            }
+            final int INDEX = (int) Math.ceil(fraction * this.frames.length) - 1;
+            return this.frames[Math.max(0, Math.min(INDEX, this.frames.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return "Board " + this.rows + "x" + this.columns + " for " + this.durationMillis + " ms\n"
+                    + "  moves " + this.moves + ", undos " + this.undos + "\n"
+                    + "  frames " + this.frames.length + ", dropped " + this.droppedFrames
+                    + " (target " + this.frameIntervalNanos / 1000 + " us)\n"
+                    + "  frame us p50 " + this.getFramePercentile(0.50) / 1000
+                    + ", p95 " + this.getFramePercentile(0.95) / 1000
+                    + ", p99 " + this.getFramePercentile(0.99) / 1000
+                    + ", max " + this.getFramePercentile(1.0) / 1000 + "\n"
+                    + "  draw us p50 <= " + this.drawP50 / 1000 + ", p99 <= " + this.drawP99 / 1000 + "\n"
+                    + "  garbage collections " + this.gcCount;
+        }
+
+    }
+
+}
@@ -0,0 +1,229 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import android.view.Choreographer;
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * Plays the swap and invalid move animations of the board from one frame callback.
+ * Every board space, and the undo button, has its own slot in a few arrays
+ *  that are kept between moves, so starting an animation allocates nothing.
+ * Only the scale and rotation of a view are changed, which never needs a
+ *  layout pass. Starting an animation on a space that is still playing one
+ *  carries on from where the old one is instead of jumping back.
+ *
+ * @author Michael Bloom
+ * @version 1.0
+ *
+ */
+public class BoardAnimator implements Choreographer.FrameCallback {
+
+    private static final byte IDLE = 0;
+    private static final byte SWAP = 1;
+    private static final byte INVALID = 2;
+
+    //A swap shrinks the space and grows it back.
+    private static final long SWAP_NANOS = 160_000_000L;
+    private static final float SWAP_SCALE = 0.5f;
+
+    //An invalid move shakes the space back and forth.
+    private static final long SHAKE_NANOS = 130_000_000L;
+    private static final int SHAKES = 3;
+    private static final float SHAKE_DEGREES = 5f;
+
+    private View[] views = new View[0];
+    private float[] scales = new float[0];
+    private byte[] kinds = new byte[0];
+    private long[] starts = new long[0];
+    private int columns;
+    private int button;
+
+    private int active = 0;
+    private boolean posted = false;
+
+    /**
+     * Takes over the views of a new board, stopping anything still playing.
+     * The slots are only grown when the board has more spaces than before.
+     * @param spaces are the board spaces by row and column.
+     * @param undo is the undo button.
+     */
+    public void attach(View[][] spaces, View undo){
+        this.cancel();
+
+        final int ROWS = spaces.length;
+        final int COLUMNS = ROWS > 0 ? spaces[0].length : 0;
+        final int SLOTS = ROWS * COLUMNS + 1;
+
+        if(this.views.length < SLOTS){
+            this.views = new View[SLOTS];
+            this.scales = new float[SLOTS];
+            this.kinds = new byte[SLOTS];
+            this.starts = new long[SLOTS];
+        }
+
+        //Drops views of the last board that would otherwise be kept alive.
+        Arrays.fill(this.views, null);
+
+        for(int r = 0; r < ROWS; r++){
+            for(int c = 0; c < COLUMNS; c++){
+                this.views[r * COLUMNS + c] = spaces[r][c];
+            }
+        }
+        this.columns = COLUMNS;
+        this.button = ROWS * COLUMNS;
+        this.views[this.button] = undo;
+
+        //Remembers the resting scale of every view to return to.
+        for(int i = 0; i < SLOTS; i++){
+            this.scales[i] = this.views[i] == null ? 1f : this.views[i].getScaleX();
+        }
+    }
+
+    /**
+     * Plays the swap animation on a board space.
+     * @param row of the space.
+     * @param column of the space.
+     */
+    public void swap(int row, int column){
+        this.start(row * this.columns + column, BoardAnimator.SWAP);
+    }
+
+    /**
+     * Plays the invalid move animation on a board space.
+     * @param row of the space.
+     * @param column of the space.
+     */
+    public void invalid(int row, int column){
+        this.start(row * this.columns + column, BoardAnimator.INVALID);
+    }
+
+    /**
+     * Plays the invalid move animation on the undo button.
+     */
+    public void invalidUndo(){
+        this.start(this.button, BoardAnimator.INVALID);
+    }
+
+    /**
+     * Stops every animation and puts every view back at rest.
+     */
+    public void cancel(){
+        if(this.posted){
+            Choreographer.getInstance().removeFrameCallback(this);
+            this.posted = false;
+        }
+
+        for(int i = 0; i < this.kinds.length; i++){
+            if(this.kinds[i] != BoardAnimator.IDLE){
+                this.rest(i);
+                this.kinds[i] = BoardAnimator.IDLE;
+            }
+        }
+        this.active = 0;
+    }
+
+    /**
+     * Starts an animation in a slot.
+     * @param slot of the view.
+     * @param kind of animation.
+     */
+    private void start(int slot, byte kind){
+
+        if(slot < 0 || slot >= this.views.length || this.views[slot] == null){
+            return;
+        }
+
+        final long NOW = System.nanoTime();
+        final byte KIND = this.kinds[slot];
+
+        if(KIND == BoardAnimator.IDLE){
+            ++this.active;
+            this.starts[slot] = NOW;
+
+        } else if(KIND != kind){
+            //Switches cleanly to the other animation.
+            this.rest(slot);
+            this.starts[slot] = NOW;
+
+        } else if(kind == BoardAnimator.SWAP){
+            //Starts again from the point on the way down with the same scale.
+            final long ELAPSED = Math.min(NOW - this.starts[slot], BoardAnimator.SWAP_NANOS);
+            this.starts[slot] = NOW - Math.min(ELAPSED, BoardAnimator.SWAP_NANOS - ELAPSED);
+
+        } else {
+            //Keeps shaking in step, for the full number of shakes from now.
+            this.starts[slot] = NOW - (NOW - this.starts[slot]) % BoardAnimator.SHAKE_NANOS;
+        }
+        this.kinds[slot] = kind;
+
+        if(!this.posted){
+            this.posted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        this.posted = false;
+
+        for(int i = 0; i < this.kinds.length && this.active > 0; i++){
+            final byte KIND = this.kinds[i];
+            if(KIND == BoardAnimator.IDLE){
+                continue;
+            }
+
+            final long ELAPSED = Math.max(0, frameTimeNanos - this.starts[i]);
+            final View VIEW = this.views[i];
+
+            if(KIND == BoardAnimator.SWAP){
+                if(ELAPSED >= BoardAnimator.SWAP_NANOS){
+                    this.finish(i);
+                    continue;
+                }
+                final double DEPTH = Math.sin(Math.PI * ELAPSED / BoardAnimator.SWAP_NANOS);
+                final float SCALE = this.scales[i] * (float) (1 - (1 - BoardAnimator.SWAP_SCALE) * DEPTH);
+                VIEW.setScaleX(SCALE);
+                VIEW.setScaleY(SCALE);
+
+            } else {
+                if(ELAPSED >= BoardAnimator.SHAKE_NANOS * BoardAnimator.SHAKES){
+                    this.finish(i);
+                    continue;
+                }
+                final double TURN = Math.sin(2 * Math.PI * ELAPSED / BoardAnimator.SHAKE_NANOS);
+                VIEW.setRotation((float) (BoardAnimator.SHAKE_DEGREES * TURN));
+            }
+        }
+
+        //Keeps the callback only while something is playing.
+        if(this.active > 0){
+            this.posted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Ends the animation in a slot.
+     * @param slot of the view.
+     */
+    private void finish(int slot){
+        this.rest(slot);
+        this.kinds[slot] = BoardAnimator.IDLE;
+        --this.active;
+    }
+
+    /**
+     * Puts the view in a slot back at rest.
+     * @param slot of the view.
+     */
+    private void rest(int slot){
+        final View VIEW = this.views[slot];
+        if(VIEW != null){
+            VIEW.setScaleX(this.scales[slot]);
+            VIEW.setScaleY(this.scales[slot]);
+            VIEW.setRotation(0);
+        }
+    }
+
+}
@@ -10,14 +10,16 @@ import android.content.SharedPreferences;
 import android.media.AudioAttributes;
 import android.media.SoundPool;
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
 import android.view.ContextMenu;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.animation.Animation;
-import android.view.animation.AnimationUtils;
+import android.view.ViewTreeObserver;
 import android.widget.Button;
 import android.widget.TableLayout;
 import android.widget.TableRow;
@@ -25,8 +27,15 @@ import android.widget.Toast;
 
 import com.google.gson.Gson;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import edu.lockhaven.bloom_frogsandtoads.databinding.ActivityMainBinding;
 
@@ -43,33 +52,109 @@ public class MainActivity extends AppCompatActivity {
     private int boardRows = 5;
     private int boardColumns = 5;
 
-    private int[] soundIDBoop;
-    private int soundIDInvalid;
-
     private Button[][] boardSpaces = new Button[boardRows][boardColumns];
     private FrogsAndToads game = new FrogsAndToads(boardRows, boardColumns);
 
-    private Animation animationInvalid;
-    private Animation animationSwap;
+    //Plays every swap and invalid move animation from one frame callback.
+    private final BoardAnimator animator = new BoardAnimator();
+
+    //Written by the startup thread once every sound has been loaded.
+    private volatile Sounds sounds;
+
+    private HintEngine hintEngine;
+    private int[] hint;
+
+    //Skips the messages and the victory dialog while the board is played automatically.
+    private boolean quiet = false;
 
-    private SoundPool soundPool;
+    private final String METRICS_FILE = "metrics.txt";
+    private final String STARTUP_TAG = "Startup";
+
+    //Runs startup work off the main thread, and lets its threads go once it is done.
+    private static final ThreadPoolExecutor STARTUP_EXECUTOR = new ThreadPoolExecutor(
+            2, 2, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    static {
+        STARTUP_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private long startupMillis;
+    private int startupPending;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        this.startupMillis = SystemClock.uptimeMillis();
+        Trace.beginSection("MainActivity.onCreate");
+
+        //Reads the save and loads the sounds while the layout is inflated.
+        Future<FrogsAndToads> save = STARTUP_EXECUTOR.submit(this::readSave);
+        STARTUP_EXECUTOR.execute(this::configureSound);
 
         //Configures the bindings.
         this.configureBinding();
-        this.configureSharedPref();
-
-        //Configures the sound and animation.
-        this.configureAnimation();
-        this.configureSound();
+        this.configureSharedPref(save);
 
         //Configures the board before drawing it.
+        //NOTE: This is the only work the first frame waits for.
+        Trace.beginSection("MainActivity.configureBoard");
         this.configureBoard();
         this.draw();
+        Trace.endSection();
+
+        //Everything else starts once the first frame is drawn.
+        this.traceStartup();
+        Trace.endSection();
+
+    }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        this.animator.cancel();
+        if(this.hintEngine != null){
+            this.hintEngine.shutdown();
+        }
+    }
+
+    /**
+     * Measures the time to the first frame and the time until the game is
+     *  fully ready, and starts the work that was left out of the first frame.
+     */
+    protected void traceStartup(){
+
+        //Interactive once the sounds are loaded and the deferred work is done.
+        this.startupPending = 2;
+
+        final View BOARD = this.findViewById(R.id.game_board);
+        BOARD.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                BOARD.getViewTreeObserver().removeOnPreDrawListener(this);
+                Log.i(STARTUP_TAG, "First frame after "
+                        + (SystemClock.uptimeMillis() - startupMillis) + " ms");
+
+                //Posted so it runs after the first frame instead of delaying it.
+                BOARD.post(() -> {
+                    Trace.beginSection("MainActivity.deferredStartup");
+                    configureHint();
+                    requestHint();
+                    Trace.endSection();
+                    onStartupStep();
+                });
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Marks one piece of startup work as done, and reports the time to
+     *  interactive once every piece is done.
+     */
+    protected void onStartupStep(){
+        if(--this.startupPending == 0){
+            Log.i(this.STARTUP_TAG, "Interactive after "
+                    + (SystemClock.uptimeMillis() - this.startupMillis) + " ms");
+        }
     }
 
     /**
@@ -88,33 +173,56 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * Retrieves save data.
+     * Reads and parses the saved game. Safe to call off the main thread.
+     * @return the saved game, or null if there is none.
      */
-    protected void configureSharedPref(){
-
-        //Retrieves data from shared prefs.
-        SharedPreferences pref = this.getPreferences(Context.MODE_PRIVATE);
-        String game = pref.getString(getString(R.string.key_game), null);
+    protected FrogsAndToads readSave(){
+        Trace.beginSection("MainActivity.readSave");
+        try {
+            //Retrieves data from shared prefs.
+            SharedPreferences pref = this.getPreferences(Context.MODE_PRIVATE);
+            String game = pref.getString(getString(R.string.key_game), null);
+
+            //Extras the object from the string.
+            return game == null ? null : GsonHolder.GSON.fromJson(game, FrogsAndToads.class);
+        } finally {
+            Trace.endSection();
+        }
+    }
 
-        //Fetch the rows and columns.
-        int rows = pref.getInt(getString(R.string.key_rows), this.boardRows);
-        int cols = pref.getInt(getString(R.string.key_cols), this.boardColumns);
+    /**
+     * Retrieves save data.
+     * @param save is the saved game being read on the startup thread.
+     */
+    protected void configureSharedPref(Future<FrogsAndToads> save){
+
+        FrogsAndToads game;
+        try {
+            game = save.get();
+        } catch (ExecutionException e) {
+            game = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            game = null;
+        }
 
         if(game == null){
             this.game = new FrogsAndToads(this.boardRows, this.boardColumns);
             return;
         }
 
+        //Fetch the rows and columns.
+        SharedPreferences pref = this.getPreferences(Context.MODE_PRIVATE);
+        int rows = pref.getInt(getString(R.string.key_rows), this.boardRows);
+        int cols = pref.getInt(getString(R.string.key_cols), this.boardColumns);
+
         //Assign the rows and columns.
         this.boardRows = rows;
         this.boardColumns = cols;
 
         //Create the spaces needed for the game.
         this.boardSpaces = new Button[rows][cols];
-
-        //Extras the object from the string.
-        Gson gson = new Gson();
-        this.game = gson.fromJson(game, FrogsAndToads.class);
+        this.game = game;
 
     }
 
@@ -179,21 +287,17 @@ public class MainActivity extends AppCompatActivity {
 
         }
 
-    }
+        //Hands the new spaces to the animator.
+        this.animator.attach(this.boardSpaces, this.findViewById(R.id.fab));
 
-    /**
-     * Configures the animation.
-     */
-    protected void configureAnimation(){
-        //Sets up the sound for a successful move and a invalid move.
-        this.animationInvalid = AnimationUtils.loadAnimation(getApplicationContext(), R.anim.invalid);
-        this.animationSwap = AnimationUtils.loadAnimation(getApplicationContext(), R.anim.swap);
     }
 
     /**
-     * Configures the sound.
+     * Configures the sound. Runs on the startup thread, and the sounds are
+     *  only played once the sound pool has been assigned.
      */
     protected void configureSound(){
+        Trace.beginSection("MainActivity.configureSound");
 
         //Creates an audio attribute.
         AudioAttributes audioAttributes = new AudioAttributes.Builder()
@@ -202,31 +306,73 @@ public class MainActivity extends AppCompatActivity {
                 .build();
 
         //Builds the sound pool
-        this.soundPool = new SoundPool.Builder().setMaxStreams(3)
+        SoundPool soundPool = new SoundPool.Builder().setMaxStreams(3)
                 .setAudioAttributes(audioAttributes).build();
 
         //Assigns the boops to the boop id array.
-        this.soundIDBoop = new int[3];
-        this.soundIDBoop[0] = soundPool.load(this, R.raw.boop_01, 1);
-        this.soundIDBoop[1] = soundPool.load(this, R.raw.boop_02, 1);
-        this.soundIDBoop[2] = soundPool.load(this, R.raw.boop_03, 1);
+        final int[] BOOPS = new int[3];
+        BOOPS[0] = soundPool.load(this, R.raw.boop_01, 1);
+        BOOPS[1] = soundPool.load(this, R.raw.boop_02, 1);
+        BOOPS[2] = soundPool.load(this, R.raw.boop_03, 1);
 
         //Assigns the invalid sound to the invalid id.
-        this.soundIDInvalid = soundPool.load(this, R.raw.invalid, 1);
+        final int INVALID = soundPool.load(this, R.raw.invalid, 1);
+
+        //Publishes the pool and its ids together, so the main thread sees all or none of them.
+        this.sounds = new Sounds(soundPool, BOOPS, INVALID);
+        Trace.endSection();
+        this.runOnUiThread(this::onStartupStep);
 
     }
 
     /**
-     * Plays a sound and animation for a successful swap.
-     * @param view is the element being used.
+     * Configures the hint engine.
+     */
+    protected void configureHint(){
+        //Hints are delivered back on the UI thread.
+        this.hintEngine = new HintEngine(this::runOnUiThread, 0);
+    }
+
+    /**
+     * Clears the current hint and looks for a new one for the current position.
      */
-    protected void onSwapSuccess(View view){
-        //Selects a random number for a boop id.
-        int index = ThreadLocalRandom.current().nextInt(0, soundIDBoop.length);
+    protected void requestHint(){
+        this.hint = null;
 
-        //Plays the animation for a swap and plays a boop sound.
-        view.startAnimation(animationSwap);
-        this.soundPool.play(soundIDBoop[index], 1, 1, 0, 0,1);
+        //Hints start after the first frame.
+        if(this.hintEngine == null){
+            return;
+        }
+        this.hintEngine.request(this.game, this::onHint);
+    }
+
+    /**
+     * Shows a hint once it has been found.
+     * @param hint is the (row, column) of the suggested space, or null if no move can win.
+     */
+    protected void onHint(int[] hint){
+        this.hint = hint;
+        this.draw();
+    }
+
+    /**
+     * Plays a sound and animation for a successful swap.
+     * @param row of the space the piece left.
+     * @param column of the space the piece left.
+     * @param otherRow of the space the piece moved to.
+     * @param otherColumn of the space the piece moved to.
+     */
+    protected void onSwapSuccess(int row, int column, int otherRow, int otherColumn){
+        //Plays the animation on both spaces.
+        this.animator.swap(row, column);
+        this.animator.swap(otherRow, otherColumn);
+
+        //Plays a random boop sound once the sounds have loaded.
+        final Sounds SOUNDS = this.sounds;
+        if(SOUNDS != null){
+            int index = ThreadLocalRandom.current().nextInt(0, SOUNDS.boops.length);
+            SOUNDS.pool.play(SOUNDS.boops[index], 1, 1, 0, 0,1);
+        }
     }
 
     /**
@@ -235,8 +381,16 @@ public class MainActivity extends AppCompatActivity {
      */
     protected void onSwapFail(View view){
         //Plays the animation then plays the invalid sound.
-        view.startAnimation(animationInvalid);
-        soundPool.play(soundIDInvalid, 1, 1, 0, 0, 1);
+        if(view.getTag() instanceof int[]){
+            int[] cords = (int[]) view.getTag();
+            this.animator.invalid(cords[0], cords[1]);
+        } else {
+            this.animator.invalidUndo();
+        }
+        final Sounds SOUNDS = this.sounds;
+        if(SOUNDS != null){
+            SOUNDS.pool.play(SOUNDS.invalid, 1, 1, 0, 0, 1);
+        }
     }
 
     /**
@@ -244,22 +398,31 @@ public class MainActivity extends AppCompatActivity {
      * @param view is the element being used.
      */
     protected void toggleSpace(View view){
+        final long START = Metrics.start();
         int[] cords = (int[]) view.getTag();
 
+        //The piece moves into the empty space.
+        final int EMPTY_ROW = this.game.getEmptySpaceRow();
+        final int EMPTY_COLUMN = this.game.getEmptySpaceColumn();
+
         //Moves a space on the board & check if the move was successful.
         if(!this.game.move(cords[0], cords[1])){
             this.onSwapFail(view);
-            Toast.makeText(getApplicationContext(),
-                    R.string.message_failed_toggle, Toast.LENGTH_LONG).show();
+            if(!this.quiet){
+                Toast.makeText(getApplicationContext(),
+                        R.string.message_failed_toggle, Toast.LENGTH_LONG).show();
+            }
+            Metrics.UI_TOGGLE_SPACE.stop(START);
             return;
         }
 
         //Assumes that a swap was successful.
-        this.onSwapSuccess(view);
+        this.onSwapSuccess(cords[0], cords[1], EMPTY_ROW, EMPTY_COLUMN);
+        this.requestHint();
         this.draw();
 
         //Checks if the game is over.
-        if (this.game.over()) {
+        if (!this.quiet && this.game.over()) {
             AlertDialog.Builder builder = new AlertDialog.Builder(this);
             builder.setTitle(R.string.title_victory)
                     .setMessage(R.string.message_victory);
@@ -268,11 +431,12 @@ public class MainActivity extends AppCompatActivity {
         }
 
         //Checks for any valid moves.
-        if (!this.game.canMove()) {
+        if (!this.quiet && !this.game.canMove()) {
             Toast.makeText(getApplicationContext(),
                     R.string.message_no_moves, Toast.LENGTH_LONG).show();
         }
 
+        Metrics.UI_TOGGLE_SPACE.stop(START);
     }
 
     /**
@@ -280,6 +444,9 @@ public class MainActivity extends AppCompatActivity {
      */
     protected void draw() {
 
+        //Only reads the clock while metrics are on.
+        final long START = Metrics.start();
+
         //Iterates through all the spaces within the game to draw each space.
         for(int r = 0; r < this.boardRows; r++){
             for(int c = 0; c < this.boardColumns; c++){
@@ -320,6 +487,14 @@ public class MainActivity extends AppCompatActivity {
                     this.getDrawable(R.drawable.board_space_valid));
         }
 
+        //Highlights the suggested space.
+        if(this.hint != null){
+            this.boardSpaces[this.hint[0]][this.hint[1]].setBackground(
+                    this.getDrawable(R.drawable.board_space_hint));
+        }
+
+        Metrics.UI_DRAW.stop(START);
+
     }
 
     /**
@@ -328,15 +503,23 @@ public class MainActivity extends AppCompatActivity {
      */
     protected void undo(View view){
 
+        //The piece moves back into the empty space.
+        final int EMPTY_ROW = this.game.getEmptySpaceRow();
+        final int EMPTY_COLUMN = this.game.getEmptySpaceColumn();
+
         //Checks if an undo was unsuccessful.
         if(!this.game.undo()){
             this.onSwapFail(view);
-            Toast.makeText(getApplicationContext(),
-                    R.string.message_failed_undo, Toast.LENGTH_LONG).show();
+            if(!this.quiet){
+                Toast.makeText(getApplicationContext(),
+                        R.string.message_failed_undo, Toast.LENGTH_LONG).show();
+            }
             return;
         }
 
-        this.onSwapSuccess(view);
+        this.onSwapSuccess(this.game.getEmptySpaceRow(), this.game.getEmptySpaceColumn(),
+                EMPTY_ROW, EMPTY_COLUMN);
+        this.requestHint();
         draw();
 
     }
@@ -347,8 +530,7 @@ public class MainActivity extends AppCompatActivity {
     protected void save(){
 
         //Turn the object into a string.
-        Gson gson = new Gson();
-        String file = gson.toJson(this.game);
+        String file = GsonHolder.GSON.toJson(this.game);
 
         //Update shared preferences.
         SharedPreferences pref = this.getPreferences(Context.MODE_PRIVATE);
@@ -374,14 +556,81 @@ public class MainActivity extends AppCompatActivity {
         this.boardSpaces = new Button[boardRows][boardColumns];
         this.game = new FrogsAndToads(boardRows, boardColumns);
         this.configureBoard();
+        this.requestHint();
         this.draw();
     }
 
     /**
-     * Opens the solution activity.
+     * Starts a new game on a board of a different size.
+     * @param rows is the vertical length of the new board.
+     * @param columns is the horizontal length of the new board.
+     */
+    protected void resize(int rows, int columns){
+        this.boardRows = rows;
+        this.boardColumns = columns;
+        this.reset();
+    }
+
+    /**
+     * Retrieves the game being played.
+     * @return the game.
+     */
+    FrogsAndToads getGame(){
+        return this.game;
+    }
+
+    /**
+     * Retrieves the button of a board space.
+     * @param row of the space.
+     * @param column of the space.
+     * @return button drawn for the space.
+     */
+    Button getSpace(int row, int column){
+        return this.boardSpaces[row][column];
+    }
+
+    /**
+     * Turns the move messages and the victory dialog off or back on.
+     * @param quiet is true while the board is played automatically.
+     */
+    void setQuiet(boolean quiet){
+        this.quiet = quiet;
+    }
+
+    /**
+     * Turns the game and drawing metrics on or off.
+     * @param enabled is true to start measuring.
+     */
+    protected void setMetricsEnabled(boolean enabled){
+        if(enabled){
+            Metrics.reset();
+        }
+        Metrics.setEnabled(enabled);
+    }
+
+    /**
+     * Writes the current metrics to a file in the app's storage.
+     */
+    protected void exportMetrics(){
+        File file = new File(this.getFilesDir(), this.METRICS_FILE);
+        try {
+            Metrics.export(file);
+            Toast.makeText(getApplicationContext(),
+                    getString(R.string.message_metrics_exported, file.getAbsolutePath()),
+                    Toast.LENGTH_LONG).show();
+        } catch (IOException e) {
+            Toast.makeText(getApplicationContext(),
+                    R.string.message_metrics_failed, Toast.LENGTH_LONG).show();
+        }
+    }
+
+    /**
+     * Opens the solution activity for the current board size.
      */
     protected void solution(){
         Intent intent = new Intent(this, SolutionActivity.class);
+        intent.putExtra(getString(R.string.key_rows), this.game.getRowLength());
+        intent.putExtra(getString(R.string.key_cols), this.game.getColumnLength());
         this.startActivity(intent);
     }
 
@@ -406,12 +655,14 @@ public class MainActivity extends AppCompatActivity {
     protected void onRestoreInstanceState(@NonNull Bundle savedInstanceState) {
         super.onRestoreInstanceState(savedInstanceState);
         this.game = (FrogsAndToads) savedInstanceState.getSerializable(getString(R.string.key_game));
+        this.requestHint();
         this.draw();
     }
 
     @Override
     public boolean onCreateOptionsMenu(@NonNull Menu menu) {
         this.getMenuInflater().inflate(R.menu.menu_main, menu);
+        menu.findItem(R.id.button_metrics).setChecked(Metrics.isEnabled());
         return true;
     }
 
@@ -437,31 +688,54 @@ public class MainActivity extends AppCompatActivity {
             //Prompts the user with a solution.
             this.solution();
 
+        } else if(id == R.id.button_metrics) {
+            //Turns the metrics on or off.
+            item.setChecked(!item.isChecked());
+            this.setMetricsEnabled(item.isChecked());
+
+        } else if(id == R.id.button_export_metrics) {
+            //Writes the metrics to a file.
+            this.exportMetrics();
+
         } else if(id == R.id.button_3x3){
-            this.boardRows = 3;
-            this.boardColumns = 3;
-            this.reset();
+            this.resize(3, 3);
 
         } else if(id == R.id.button_5x5){
-            this.boardRows = 5;
-            this.boardColumns = 5;
-            this.reset();
+            this.resize(5, 5);
 
         } else if(id == R.id.button_7x7){
-            this.boardRows = 7;
-            this.boardColumns = 7;
-            this.reset();
+            this.resize(7, 7);
 
         } else if(id == R.id.button_9x9){
-            this.boardRows = 9;
-            this.boardColumns = 9;
-            this.reset();
+            this.resize(9, 9);
 
         }
 
         return super.onOptionsItemSelected(item);
     }
 
+    /**
+     * Loaded sound pool and the ids of its sounds, published all at once.
+     */
+    private static class Sounds {
+        private final SoundPool pool;
+        private final int[] boops;
+        private final int invalid;
+
+        private Sounds(SoundPool pool, int[] boops, int invalid){
+            this.pool = pool;
+            this.boops = boops;
+            this.invalid = invalid;
+        }
+    }
+
+    /**
+     * Holds the one Gson used for saving, created the first time a save is read or written.
+     */
+    private static class GsonHolder {
+        private static final Gson GSON = new Gson();
+    }
+
     @Override
     public void onCreateContextMenu(ContextMenu menu, View v, ContextMenu.ContextMenuInfo menuInfo) {
         super.onCreateContextMenu(menu, v, menuInfo);
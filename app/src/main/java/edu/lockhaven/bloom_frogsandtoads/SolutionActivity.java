@@ -1,11 +1,13 @@
 package edu.lockhaven.bloom_frogsandtoads;
 
 import android.os.Bundle;
+import android.view.Choreographer;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
+import android.widget.SeekBar;
 import android.widget.Spinner;
 import android.widget.TableLayout;
 import android.widget.TableRow;
@@ -16,35 +18,116 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class SolutionActivity extends AppCompatActivity {
 
-    private final int BOARD_SIZE = 3;
     private final int BOARD_SCALE = 5;
+    private int boardRows = 3;
+    private int boardColumns = 3;
 
-    private TextView[][] boardSpaces = new TextView[BOARD_SIZE][BOARD_SIZE];
-    private FrogsAndToads game = new FrogsAndToads(BOARD_SIZE);
+    private static final String SOLUTION_FILE = "solutions.bin";
+    private static final long SOLUTION_BUDGET = 1024 * 1024;
+
+    //Steps worked out ahead of the board during autoplay.
+    private static final int LOOK_AHEAD = 32;
+
+    private static final int MIN_SPEED = 1;
+    private static final int MAX_SPEED = 10;
+    private static final int DEFAULT_SPEED = 2;
+
+    private TextView[][] boardSpaces;
+    private FrogsAndToads game;
+    private byte[] solution = new byte[0];
     private int steps = 0;
     private boolean processing = false;
 
+    //Loads the solution, then works out the upcoming steps on a copy of the game, off the main thread.
+    private final ExecutorService lookAhead = Executors.newSingleThreadExecutor();
+    private BlockingQueue<Step> ahead = new ArrayBlockingQueue<>(LOOK_AHEAD);
+    private Future<?> lookAheadTask;
+
+    private final Choreographer.FrameCallback frameCallback = this::doFrame;
+    private boolean playing = false;
+    private int speed = DEFAULT_SPEED;
+    private long nextStepNanos = 0;
+
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_solution);
 
+        //Shows the solution for the board the player was on.
+        this.boardRows = this.getIntent().getIntExtra(getString(R.string.key_rows), this.boardRows);
+        this.boardColumns = this.getIntent().getIntExtra(getString(R.string.key_cols), this.boardColumns);
+        this.game = new FrogsAndToads(this.boardRows, this.boardColumns);
+        this.boardRows = this.game.getRowLength();
+        this.boardColumns = this.game.getColumnLength();
+        this.boardSpaces = new TextView[this.boardRows][this.boardColumns];
+
         this.configureButtons();
+        this.configureSolution();
 
         this.configureBoard();
         this.draw();
+        this.restartLookAhead();
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        this.pause();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        this.lookAhead.shutdownNow();
     }
 
     /**
-     * Configures the step buttons.
+     * Configures the step buttons and the autoplay controls.
      */
     protected void configureButtons(){
         this.findViewById(R.id.button_next).setOnClickListener(this::next);
         this.findViewById(R.id.button_prev).setOnClickListener(this::prev);
+        this.findViewById(R.id.button_play).setOnClickListener(this::play);
+
+        SeekBar speedBar = this.findViewById(R.id.seek_speed);
+        speedBar.setMax(MAX_SPEED - MIN_SPEED);
+        speedBar.setProgress(this.speed - MIN_SPEED);
+        speedBar.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                setSpeed(progress + MIN_SPEED);
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {
+            }
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {
+            }
+        });
+        this.setSpeed(this.speed);
+    }
+
+    /**
+     * Sets how fast autoplay steps through the solution.
+     * @param speed is the number of steps each second.
+     */
+    protected void setSpeed(int speed){
+        this.speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+        TextView text = this.findViewById(R.id.text_speed);
+        text.setText(getString(R.string.text_speed, this.speed));
     }
 
     /**
@@ -67,15 +150,15 @@ public class SolutionActivity extends AppCompatActivity {
 
         //Calculate the button size.
         int spaceSize = ((this.BOARD_SCALE * Math.min(DISPLAY_WIDTH, DISPLAY_HEIGHT) /
-                10) / Math.max(this.BOARD_SIZE, this.BOARD_SIZE));
+                10) / Math.max(this.boardRows, this.boardColumns));
 
         //Fills the entire board.
-        for(int r = 0; r < this.BOARD_SIZE; r++){
+        for(int r = 0; r < this.boardRows; r++){
             //Creates a new table row.
             TableRow tableRow = new TableRow(this);
             tableRow.setLayoutParams(tableRowParams);
 
-            for(int c = 0; c < this.BOARD_SIZE; c++){
+            for(int c = 0; c < this.boardColumns; c++){
                 this.boardSpaces[r][c] = new TextView(this);
 
                 //Sets the text size and alignment of the space.
@@ -108,10 +191,18 @@ public class SolutionActivity extends AppCompatActivity {
      * Draws the entire game board on the screen.
      */
     protected void draw() {
+        this.draw(this.game.getLegalMoves());
+    }
+
+    /**
+     * Draws the entire game board on the screen.
+     * @param legalMoves are the spaces to highlight.
+     */
+    protected void draw(List<int[]> legalMoves) {
 
         //Iterates through all the spaces within the game to draw each space.
-        for(int r = 0; r < this.BOARD_SIZE; r++){
-            for(int c = 0; c < this.BOARD_SIZE; c++){
+        for(int r = 0; r < this.boardRows; r++){
+            for(int c = 0; c < this.boardColumns; c++){
 
                 this.boardSpaces[r][c].setBackground(
                         this.getDrawable(R.drawable.board_space)
@@ -142,8 +233,7 @@ public class SolutionActivity extends AppCompatActivity {
         }
 
         //Highlights all the valid board spaces.
-        final List<int[]> LEGAL_MOVES = this.game.getLegalMoves();
-        for(int[] space : LEGAL_MOVES){
+        for(int[] space : legalMoves){
             this.boardSpaces[space[0]][space[1]].setBackground(
                     this.getDrawable(R.drawable.board_space_valid));
         }
@@ -156,66 +246,84 @@ public class SolutionActivity extends AppCompatActivity {
 
     /**
      * Makes a move depending on the steps taken.
-     * @param step
+     * @param step is the number of the move within the solution.
      */
     protected void move(int step){
-        //Theres probably an algorithm to do this, but for now switch cases should be fine.
-        //Checks the step to see which move to make.
-        switch (step) {
-            case 1:
-            case 11:
-                this.game.move(2, 1);
-                break;
-
-            case 2:
-                this.game.move(2, 2);
-                break;
-
-            case 3:
-                this.game.move(0, 2);
-                break;
-
-            case 4:
-                this.game.move(1, 2);
-                break;
-
-            case 5:
-            case 8:
-                this.game.move(1, 0);
-                break;
-
-            case 6:
-                this.game.move(0, 0);
-                break;
-
-            case 7:
-                this.game.move(2, 0);
-                break;
-
-            case 9:
-            case 12:
-                this.game.move(1, 1);
-                break;
-
-            case 10:
-                this.game.move(0, 1);
-                break;
-
-            default:
-                break;
+        //Solutions are stored as packed move codes starting from the first step.
+        if(step >= 1 && step <= this.solution.length) {
+            this.game.move(this.solution[step - 1]);
+        }
+    }
+
+    /**
+     * Loads the solution for the board off the main thread, keeping the step
+     *  buttons off until it arrives.
+     */
+    protected void configureSolution(){
+
+        final int ROWS = this.game.getRowLength();
+        final int COLUMNS = this.game.getColumnLength();
+        final File FILE = new File(this.getFilesDir(), SOLUTION_FILE);
+
+        this.setStepsEnabled(false);
+        this.lookAhead.execute(() -> {
+            final byte[] MOVES = SolutionActivity.loadSolution(FILE, ROWS, COLUMNS);
+            this.runOnUiThread(() -> {
+                if(this.isDestroyed()) {
+                    return;
+                }
+                this.solution = MOVES;
+                this.setStepsEnabled(true);
+                this.restartLookAhead();
+            });
+        });
+
+    }
+
+    /**
+     * Reads the solution for a board from the cache, building it if needed.
+     * Reads and writes the cache file, so it must not run on the main thread.
+     * @param file holds the cache.
+     * @param rows is the vertical length of the board.
+     * @param columns is the horizontal length of the board.
+     * @return packed move codes of the solution.
+     */
+    private static byte[] loadSolution(File file, int rows, int columns){
+
+        final long POSITION = new FrogsAndToads(rows, columns).getPositionId();
+
+        try(SolutionCache cache = new SolutionCache(file, SOLUTION_BUDGET)) {
+
+            //Checks if the board was already solved.
+            byte[] moves = cache.get(rows, columns, POSITION);
+            if(moves == null) {
+                moves = Solver.solve(rows, columns);
+                cache.put(rows, columns, POSITION, moves);
+            }
+            return moves;
+
+        } catch (IOException e) {
+            //The solution can still be shown without the cache.
+            return Solver.solve(rows, columns);
         }
 
     }
 
+    /**
+     * Turns the step and autoplay buttons on or off.
+     * @param enabled is true once there is a solution to step through.
+     */
+    protected void setStepsEnabled(boolean enabled){
+        this.findViewById(R.id.button_next).setEnabled(enabled);
+        this.findViewById(R.id.button_prev).setEnabled(enabled);
+        this.findViewById(R.id.button_play).setEnabled(enabled);
+    }
+
     /**
      * Moves the solution to the next step.
      */
     protected void next(View view){
-        if(this.game.canMove()) {
-            processing = true;
-            ++this.steps;
-            this.move(this.steps);
-            this.draw();
+        if(this.step()) {
             return;
         }
 
@@ -230,9 +338,13 @@ public class SolutionActivity extends AppCompatActivity {
      */
     protected void prev(View view){
         if(this.steps >= 1) {
+            this.pause();
             --this.steps;
             this.game.undo();
             this.draw();
+
+            //Steps worked out ahead no longer follow from the board.
+            this.restartLookAhead();
             return;
         }
 
@@ -242,6 +354,134 @@ public class SolutionActivity extends AppCompatActivity {
 
     }
 
+    /**
+     * Starts or pauses autoplay.
+     */
+    protected void play(View view){
+        if(this.playing) {
+            this.pause();
+            return;
+        }
+
+        if(this.steps >= this.solution.length) {
+            Toast.makeText(getApplicationContext(),
+                    R.string.message_out_of_steps, Toast.LENGTH_LONG).show();
+            return;
+        }
+
+        this.playing = true;
+        this.nextStepNanos = 0;
+        ((Button) this.findViewById(R.id.button_play)).setText(R.string.button_pause);
+        Choreographer.getInstance().postFrameCallback(this.frameCallback);
+    }
+
+    /**
+     * Stops autoplay.
+     */
+    protected void pause(){
+        this.playing = false;
+        Choreographer.getInstance().removeFrameCallback(this.frameCallback);
+        ((Button) this.findViewById(R.id.button_play)).setText(R.string.button_play);
+    }
+
+    /**
+     * Takes the next autoplay step once it is due, in time with the display.
+     * @param frameTimeNanos is when the frame started rendering.
+     */
+    protected void doFrame(long frameTimeNanos){
+        if(!this.playing) {
+            return;
+        }
+
+        if(frameTimeNanos >= this.nextStepNanos && this.ahead.peek() != null) {
+            this.step();
+            this.nextStepNanos = frameTimeNanos + 1_000_000_000L / this.speed;
+        }
+
+        if(this.steps >= this.solution.length) {
+            this.pause();
+            return;
+        }
+        Choreographer.getInstance().postFrameCallback(this.frameCallback);
+    }
+
+    /**
+     * Takes the next step, using the one worked out ahead if it is ready.
+     * @return true if a step was taken.
+     */
+    protected boolean step(){
+        if(this.steps >= this.solution.length || !this.game.canMove()) {
+            return false;
+        }
+
+        processing = true;
+        ++this.steps;
+        this.move(this.steps);
+
+        //Drops steps the board has already passed while the look-ahead was behind.
+        Step ready = this.ahead.poll();
+        while(ready != null && ready.number < this.steps) {
+            ready = this.ahead.poll();
+        }
+
+        if(ready != null && ready.number == this.steps) {
+            this.draw(ready.legalMoves);
+            return true;
+        }
+
+        this.draw();
+
+        //Starts the look-ahead again from this step, so it does not stay behind the board.
+        if(this.steps < this.solution.length) {
+            this.restartLookAhead();
+        }
+        return true;
+    }
+
+    /**
+     * Throws away the steps worked out so far and works them out again from the current board.
+     */
+    protected void restartLookAhead(){
+        if(this.lookAheadTask != null) {
+            this.lookAheadTask.cancel(true);
+        }
+
+        //A new buffer, so a cancelled task that is still finishing cannot add to it.
+        this.ahead = new ArrayBlockingQueue<>(LOOK_AHEAD);
+
+        if(this.lookAhead.isShutdown()) {
+            return;
+        }
+
+        final FrogsAndToads COPY = new FrogsAndToads(this.game);
+        final byte[] SOLUTION = this.solution;
+        final int FROM = this.steps;
+        final BlockingQueue<Step> AHEAD = this.ahead;
+        this.lookAheadTask = this.lookAhead.submit(
+                () -> SolutionActivity.fillLookAhead(COPY, SOLUTION, FROM, AHEAD));
+    }
+
+    /**
+     * Plays the solution on a copy of the game, keeping up to LOOK_AHEAD steps ready.
+     * Waits whenever the buffer is full, and stops once it is cancelled.
+     * @param copy is the game to play on.
+     * @param solution are the moves to play.
+     * @param from is the number of steps already taken.
+     * @param ahead receives the steps.
+     */
+    private static void fillLookAhead(FrogsAndToads copy, byte[] solution, int from,
+                                      BlockingQueue<Step> ahead){
+        try {
+            for(int step = from; step < solution.length; step++) {
+                copy.move(solution[step], false);
+                ahead.put(new Step(step + 1, copy.getLegalMoves()));
+            }
+        } catch (InterruptedException e) {
+            //Cancelled because the board went back a step or the activity closed.
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Override
     protected void onSaveInstanceState(@NonNull Bundle outState) {
         super.onSaveInstanceState(outState);
@@ -255,6 +495,27 @@ public class SolutionActivity extends AppCompatActivity {
         this.game = (FrogsAndToads) savedInstanceState.getSerializable("solution");
         this.steps = savedInstanceState.getInt("steps");
         this.draw();
+        this.restartLookAhead();
+    }
+
+    /**
+     * A step of the solution worked out ahead of time.
+     */
+    private static class Step {
+
+        private final int number;
+        private final List<int[]> legalMoves;
+
+        /**
+         * Creates a step.
+         * @param number is the count of steps taken once this one is.
+         * @param legalMoves are the spaces to highlight after it.
+         */
+        private Step(int number, List<int[]> legalMoves) {
+            this.number = number;
+            this.legalMoves = legalMoves;
+        }
+
     }
 
 }
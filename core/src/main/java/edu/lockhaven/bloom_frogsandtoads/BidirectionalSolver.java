@@ -0,0 +1,683 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.Arrays;
+
+/**
+ * Finds shortest solutions by searching from both ends at once.
+ * One search plays moves forward from the board and the other takes moves
+ *  back from the winning position, a whole layer at a time, always growing
+ *  the smaller side. The first layer in which the two meet holds a shortest
+ *  solution, so it only has to look about half as deep from either end.
+ * Positions are kept as two longs, so boards of up to 121 cells, such as
+ *  9 x 9, can be searched. Forward positions whose pieces can no longer reach
+ *  the winning position, and backward positions that the board's pieces can
+ *  never reach, are dropped without changing the answer.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class BidirectionalSolver {
+
+	//Largest board that fits in two longs with the empty space index.
+	public final static int MAX_CELLS = 121;
+
+	//The empty space index is kept in the top bits of the high long.
+	private final static int EMPTY_SHIFT = 57;
+	private final static long CELL_MASK = (1L << BidirectionalSolver.EMPTY_SHIFT) - 1;
+
+	private final int limit;
+	private int rows;
+	private int columns;
+	private boolean exhausted;
+	private int positions;
+
+	/**
+	 * Creates a solver.
+	 * Each position kept takes up to about 80 bytes.
+	 * @param limit is the most positions kept by both searches together.
+	 */
+	public BidirectionalSolver(int limit) {
+
+		if(limit <= 0) {
+			throw new IllegalArgumentException("Limit must be positive: " + limit);
+		}
+
+		this.limit = limit;
+	}
+
+	/**
+	 * Finds a shortest solution from a board.
+	 * @param game is the board to solve, which is left as it was.
+	 * @return packed move codes of a shortest solution, or null if the board
+	 *  cannot be won or the limit ran out first.
+	 * @see #isExhausted()
+	 * @see Moves
+	 */
+	public byte[] solve(FrogsAndToads game) {
+
+		this.rows = game.getRowLength();
+		this.columns = game.getColumnLength();
+		this.exhausted = false;
+		this.positions = 0;
+
+		if(this.rows * this.columns > BidirectionalSolver.MAX_CELLS || this.columns > 63) {
+			throw new IllegalArgumentException("Board is too large: " + this.rows + "x" + this.columns);
+		}
+
+		//The winning position swaps every piece of the starting one.
+		FrogsAndToads start = new FrogsAndToads(this.rows, this.columns);
+		long goalLow = 0;
+		long goalHigh = (long) this.index(start.getEmptySpaceRow(), start.getEmptySpaceColumn()) << BidirectionalSolver.EMPTY_SHIFT;
+		for(int r = 0; r < this.rows; r++) {
+			for(int c = 0; c < this.columns; c++) {
+				if(start.toadAt(r, c)) {
+					final int INDEX = this.index(r, c);
+					goalLow |= INDEX < 64 ? 1L << INDEX : 0;
+					goalHigh |= INDEX < 64 ? 0 : 1L << (INDEX - 64);
+				}
+			}
+		}
+
+		final long SOURCE_LOW = this.low(game);
+		final long SOURCE_HIGH = this.high(game);
+
+		if(SOURCE_LOW == goalLow && SOURCE_HIGH == goalHigh) {
+			return new byte[0];
+		}
+		if(this.stranded(SOURCE_LOW, SOURCE_HIGH, goalLow, goalHigh)) {
+			return null;
+		}
+
+		Side forward = new Side(SOURCE_LOW, SOURCE_HIGH);
+		Side backward = new Side(goalLow, goalHigh);
+		this.positions = 2;
+
+		while(forward.size > 0 && backward.size > 0) {
+
+			//Grows the smaller side, which is the cheaper one to grow.
+			final boolean FORWARD = forward.size <= backward.size;
+			final Side GROWING = FORWARD ? forward : backward;
+			final Side OTHER = FORWARD ? backward : forward;
+
+			long bestLow = 0;
+			long bestHigh = 0;
+			int best = Integer.MAX_VALUE;
+
+			final long[] LOWS = GROWING.lows;
+			final long[] HIGHS = GROWING.highs;
+			final int SIZE = GROWING.size;
+			GROWING.nextLayer();
+
+			for(int i = 0; i < SIZE; i++) {
+				final long LOW = LOWS[i];
+				final long HIGH = HIGHS[i];
+
+				int codes = FORWARD ? this.legalMoves(LOW, HIGH) : this.reverseMoves(LOW, HIGH);
+				while(codes != 0) {
+					final int CODE = Integer.numberOfTrailingZeros(codes);
+					codes &= codes - 1;
+
+					final long NEXT_LOW = FORWARD ? this.applyLow(LOW, HIGH, CODE) : this.reverseLow(LOW, HIGH, CODE);
+					final long NEXT_HIGH = FORWARD ? this.applyHigh(LOW, HIGH, CODE) : this.reverseHigh(LOW, HIGH, CODE);
+
+					if(GROWING.visited.get(NEXT_LOW, NEXT_HIGH) >= 0) {
+						continue;
+					}
+
+					//Keeps the shortest path through any position the other side has reached.
+					final int MET = OTHER.visited.get(NEXT_LOW, NEXT_HIGH);
+					if(MET >= 0 && GROWING.depth + (MET >> 3) < best) {
+						best = GROWING.depth + (MET >> 3);
+						bestLow = NEXT_LOW;
+						bestHigh = NEXT_HIGH;
+					}
+
+					//Drops positions that cannot lie between the board and the goal.
+					if(MET < 0 && (FORWARD ? this.stranded(NEXT_LOW, NEXT_HIGH, goalLow, goalHigh)
+							: this.stranded(SOURCE_LOW, SOURCE_HIGH, NEXT_LOW, NEXT_HIGH))) {
+						continue;
+					}
+
+					if(++this.positions > this.limit) {
+						this.exhausted = true;
+						return null;
+					}
+					GROWING.add(NEXT_LOW, NEXT_HIGH, CODE);
+				}
+			}
+
+			if(best != Integer.MAX_VALUE) {
+				return this.path(forward, backward, bestLow, bestHigh, best);
+			}
+		}
+
+		//One side ran out of positions without meeting the other.
+		return null;
+	}
+
+	/**
+	 * Returns true if the last search ran out of room before it could finish.
+	 * @return if the limit was reached.
+	 */
+	public boolean isExhausted() {
+		return this.exhausted;
+	}
+
+	/**
+	 * Retrieves the number of positions kept by the last search.
+	 * @return positions from both sides.
+	 */
+	public int getPositions() {
+		return this.positions;
+	}
+
+	/**
+	 * Joins the paths from both sides at the position where they met.
+	 * @param forward is the side that started at the board.
+	 * @param backward is the side that started at the goal.
+	 * @param low is the low long of the meeting position.
+	 * @param high is the high long of the meeting position.
+	 * @param length is the number of moves in the solution.
+	 * @return packed move codes from the board to the goal.
+	 */
+	private byte[] path(Side forward, Side backward, long low, long high, int length) {
+
+		//Both sides hold the meeting position, each with the move that linked it.
+		byte[] moves = new byte[length];
+		final int SPLIT = forward.visited.get(low, high) >> 3;
+
+		//Walks back to the board, undoing the move that reached each position.
+		long walkLow = low;
+		long walkHigh = high;
+		for(int i = SPLIT - 1; i >= 0; i--) {
+			final int CODE = forward.visited.get(walkLow, walkHigh) & 7;
+			moves[i] = (byte) CODE;
+			final long LOW = this.reverseLow(walkLow, walkHigh, CODE);
+			walkHigh = this.reverseHigh(walkLow, walkHigh, CODE);
+			walkLow = LOW;
+		}
+
+		//Walks on to the goal, replaying the move that was taken back at each position.
+		walkLow = low;
+		walkHigh = high;
+		for(int i = SPLIT; i < length; i++) {
+			final int CODE = backward.visited.get(walkLow, walkHigh) & 7;
+			moves[i] = (byte) CODE;
+			final long LOW = this.applyLow(walkLow, walkHigh, CODE);
+			walkHigh = this.applyHigh(walkLow, walkHigh, CODE);
+			walkLow = LOW;
+		}
+
+		return moves;
+	}
+
+	/**
+	 * Finds the legal moves of a position.
+	 * Follows the same rules as {@link FrogsAndToads#getLegalMoveCodes()}.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @return bit mask of move codes.
+	 */
+	private int legalMoves(long low, long high) {
+
+		final int EMPTY = BidirectionalSolver.empty(high);
+		final int ROW = EMPTY / this.columns;
+		final int COLUMN = EMPTY % this.columns;
+
+		int codes = 0;
+		for(int code = 0; code < Moves.COUNT; code++) {
+
+			//Frogs move from above or left, toads from below or right.
+			final int DIRECTION = Moves.direction(code);
+			final boolean TOAD = DIRECTION == Moves.DOWN || DIRECTION == Moves.RIGHT;
+			final int PIECE_ROW = ROW + Moves.rowOffset(code);
+			final int PIECE_COLUMN = COLUMN + Moves.columnOffset(code);
+
+			if(!this.pieceAt(low, high, PIECE_ROW, PIECE_COLUMN, TOAD)) {
+				continue;
+			}
+
+			//Jumps go over the other kind of piece.
+			if(Moves.isJump(code) && !this.pieceAt(low, high, ROW + Moves.rowOffset(code) / 2,
+					COLUMN + Moves.columnOffset(code) / 2, !TOAD)) {
+				continue;
+			}
+
+			codes |= 1 << code;
+		}
+
+		return codes;
+	}
+
+	/**
+	 * Finds the moves that could have led to a position.
+	 * Follows the same rules as {@link FrogsAndToads#getReverseMoveCodes()}.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @return bit mask of move codes.
+	 */
+	private int reverseMoves(long low, long high) {
+
+		final int EMPTY = BidirectionalSolver.empty(high);
+		final int ROW = EMPTY / this.columns;
+		final int COLUMN = EMPTY % this.columns;
+
+		int codes = 0;
+		for(int code = 0; code < Moves.COUNT; code++) {
+			final int DIRECTION = Moves.direction(code);
+			final boolean TOAD = DIRECTION == Moves.DOWN || DIRECTION == Moves.RIGHT;
+
+			if(!this.pieceAt(low, high, ROW - Moves.rowOffset(code), COLUMN - Moves.columnOffset(code), TOAD)) {
+				continue;
+			}
+
+			if(Moves.isJump(code) && !this.pieceAt(low, high, ROW - Moves.rowOffset(code) / 2,
+					COLUMN - Moves.columnOffset(code) / 2, !TOAD)) {
+				continue;
+			}
+
+			codes |= 1 << code;
+		}
+
+		return codes;
+	}
+
+	/**
+	 * Returns true if the cell holds a piece of the given kind.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param row of the cell, which may be off the board.
+	 * @param column of the cell, which may be off the board.
+	 * @param toad is true to look for a toad, false for a frog.
+	 * @return if the piece is there.
+	 */
+	private boolean pieceAt(long low, long high, int row, int column, boolean toad) {
+		if(row < 0 || row >= this.rows || column < 0 || column >= this.columns) {
+			return false;
+		}
+		final int INDEX = this.index(row, column);
+		if(INDEX == BidirectionalSolver.empty(high)) {
+			return false;
+		}
+		return BidirectionalSolver.frog(low, high, INDEX) != toad;
+	}
+
+	/**
+	 * Plays a move, returning the low long of the result.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param code of a legal move.
+	 * @return low long after the move.
+	 */
+	private long applyLow(long low, long high, int code) {
+		final int EMPTY = BidirectionalSolver.empty(high);
+		final int FROM = EMPTY + Moves.rowOffset(code) * this.columns + Moves.columnOffset(code);
+		return BidirectionalSolver.moveLow(low, high, FROM, EMPTY);
+	}
+
+	/**
+	 * Plays a move, returning the high long of the result.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param code of a legal move.
+	 * @return high long after the move.
+	 */
+	private long applyHigh(long low, long high, int code) {
+		final int EMPTY = BidirectionalSolver.empty(high);
+		final int FROM = EMPTY + Moves.rowOffset(code) * this.columns + Moves.columnOffset(code);
+		return BidirectionalSolver.moveHigh(low, high, FROM, EMPTY);
+	}
+
+	/**
+	 * Takes back a move, returning the low long of the result.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param code of a move that can be taken back.
+	 * @return low long before the move.
+	 */
+	private long reverseLow(long low, long high, int code) {
+		final int EMPTY = BidirectionalSolver.empty(high);
+		final int FROM = EMPTY - Moves.rowOffset(code) * this.columns - Moves.columnOffset(code);
+		return BidirectionalSolver.moveLow(low, high, FROM, EMPTY);
+	}
+
+	/**
+	 * Takes back a move, returning the high long of the result.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param code of a move that can be taken back.
+	 * @return high long before the move.
+	 */
+	private long reverseHigh(long low, long high, int code) {
+		final int EMPTY = BidirectionalSolver.empty(high);
+		final int FROM = EMPTY - Moves.rowOffset(code) * this.columns - Moves.columnOffset(code);
+		return BidirectionalSolver.moveHigh(low, high, FROM, EMPTY);
+	}
+
+	/**
+	 * Returns true if a position can never reach another.
+	 * Frogs only move down and right, so once below and right of a staircase
+	 *  through the board they stay there, and toads only move up and left. If
+	 *  some staircase holds more frogs, or more toads on its other side, than
+	 *  the target has there, the target cannot be reached.
+	 * @param fromLow is the low long of the first position.
+	 * @param fromHigh is the high long of the first position.
+	 * @param toLow is the low long of the target position.
+	 * @param toHigh is the high long of the target position.
+	 * @return if the target can never be reached.
+	 * @see PackedBoard#stranded(long, long, int, int)
+	 */
+	private boolean stranded(long fromLow, long fromHigh, long toLow, long toHigh) {
+
+		final long ROW = (1L << this.columns) - 1;
+		int[] best = new int[this.columns + 1];
+
+		//Frogs from column t to the end of each row, with t never shrinking further up.
+		for(int r = this.rows - 1; r >= 0; r--) {
+			final long FROGS = this.frogRow(fromLow, fromHigh, r);
+			final long GOAL = this.frogRow(toLow, toHigh, r);
+
+			int most = Integer.MIN_VALUE;
+			for(int t = 0; t <= this.columns; t++) {
+				most = Math.max(most, best[t]);
+				best[t] = most + Long.bitCount(FROGS >>> t) - Long.bitCount(GOAL >>> t);
+				if(best[t] > 0) {
+					return true;
+				}
+			}
+		}
+
+		//Toads from the start of each row up to column t, with t never growing further down.
+		Arrays.fill(best, 0);
+		for(int r = 0; r < this.rows; r++) {
+			final long TOADS = this.toadRow(fromLow, fromHigh, r, ROW);
+			final long GOAL = this.toadRow(toLow, toHigh, r, ROW);
+
+			int most = Integer.MIN_VALUE;
+			for(int t = this.columns; t >= 0; t--) {
+				final long BEFORE = (1L << t) - 1;
+				most = Math.max(most, best[t]);
+				best[t] = most + Long.bitCount(TOADS & BEFORE) - Long.bitCount(GOAL & BEFORE);
+				if(best[t] > 0) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Retrieves the frogs of a row as bits, column 0 first.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param row to retrieve.
+	 * @return frog bits of the row.
+	 */
+	private long frogRow(long low, long high, int row) {
+		final int FIRST = row * this.columns;
+		final long MASK = (1L << this.columns) - 1;
+		high &= BidirectionalSolver.CELL_MASK;
+		if(FIRST >= 64) {
+			return (high >>> (FIRST - 64)) & MASK;
+		}
+		final long BITS = low >>> FIRST;
+		return (FIRST + this.columns > 64 ? BITS | high << (64 - FIRST) : BITS) & MASK;
+	}
+
+	/**
+	 * Retrieves the toads of a row as bits, column 0 first.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param row to retrieve.
+	 * @param mask has a bit set for every column.
+	 * @return toad bits of the row.
+	 */
+	private long toadRow(long low, long high, int row, long mask) {
+		long toads = ~this.frogRow(low, high, row) & mask;
+		final int EMPTY = BidirectionalSolver.empty(high);
+		if(EMPTY / this.columns == row) {
+			toads &= ~(1L << (EMPTY % this.columns));
+		}
+		return toads;
+	}
+
+	/**
+	 * Packs the first 64 cells of a board.
+	 * @param game is the board.
+	 * @return low long.
+	 */
+	private long low(FrogsAndToads game) {
+		long low = 0;
+		for(int i = 0; i < Math.min(64, this.rows * this.columns); i++) {
+			if(game.frogAt(i / this.columns, i % this.columns)) {
+				low |= 1L << i;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Packs the other cells and the empty space of a board.
+	 * @param game is the board.
+	 * @return high long.
+	 */
+	private long high(FrogsAndToads game) {
+		long high = (long) this.index(game.getEmptySpaceRow(), game.getEmptySpaceColumn()) << BidirectionalSolver.EMPTY_SHIFT;
+		for(int i = 64; i < this.rows * this.columns; i++) {
+			if(game.frogAt(i / this.columns, i % this.columns)) {
+				high |= 1L << (i - 64);
+			}
+		}
+		return high;
+	}
+
+	/**
+	 * Retrieves the cell index of a row and column.
+	 * @param row of the cell.
+	 * @param column of the cell.
+	 * @return cell index.
+	 */
+	private int index(int row, int column) {
+		return row * this.columns + column;
+	}
+
+	/**
+	 * Retrieves the cell index of the empty space.
+	 * @param high holds the other cells and the empty space.
+	 * @return cell index.
+	 */
+	private static int empty(long high) {
+		return (int) (high >>> BidirectionalSolver.EMPTY_SHIFT);
+	}
+
+	/**
+	 * Returns true if a cell holds a frog.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param index of the cell.
+	 * @return if the cell's bit is set.
+	 */
+	private static boolean frog(long low, long high, int index) {
+		return index < 64 ? (low >>> index & 1) != 0 : (high >>> (index - 64) & 1) != 0;
+	}
+
+	/**
+	 * Moves the piece at one cell into the empty space, returning the low long.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param from is the cell of the piece, which becomes empty.
+	 * @param empty is the cell of the empty space.
+	 * @return low long after the piece moves.
+	 */
+	private static long moveLow(long low, long high, int from, int empty) {
+		final boolean FROG = BidirectionalSolver.frog(low, high, from);
+		if(from < 64) {
+			low &= ~(1L << from);
+		}
+		if(empty < 64 && FROG) {
+			low |= 1L << empty;
+		}
+		return low;
+	}
+
+	/**
+	 * Moves the piece at one cell into the empty space, returning the high long.
+	 * @param low holds the first 64 cells.
+	 * @param high holds the other cells and the empty space.
+	 * @param from is the cell of the piece, which becomes empty.
+	 * @param empty is the cell of the empty space.
+	 * @return high long after the piece moves.
+	 */
+	private static long moveHigh(long low, long high, int from, int empty) {
+		final boolean FROG = BidirectionalSolver.frog(low, high, from);
+		if(from >= 64) {
+			high &= ~(1L << (from - 64));
+		}
+		if(empty >= 64 && FROG) {
+			high |= 1L << (empty - 64);
+		}
+		return (high & BidirectionalSolver.CELL_MASK) | (long) from << BidirectionalSolver.EMPTY_SHIFT;
+	}
+
+	/**
+	 * One end of the search: every position it has reached and its newest layer.
+	 */
+	private static class Side {
+
+		private final WideMap visited = new WideMap();
+		private long[] lows = new long[16];
+		private long[] highs = new long[16];
+		private int size = 0;
+		private int depth = 0;
+
+		/**
+		 * Creates a side starting from one position.
+		 * @param low is the low long of the position.
+		 * @param high is the high long of the position.
+		 */
+		private Side(long low, long high) {
+			this.visited.put(low, high, 0);
+			this.lows[0] = low;
+			this.highs[0] = high;
+			this.size = 1;
+		}
+
+		/**
+		 * Starts the next layer, leaving the arrays of the last one to be read.
+		 */
+		private void nextLayer() {
+			++this.depth;
+			this.lows = new long[Math.max(16, this.size * 2)];
+			this.highs = new long[this.lows.length];
+			this.size = 0;
+		}
+
+		/**
+		 * Adds a position to the newest layer.
+		 * @param low is the low long of the position.
+		 * @param high is the high long of the position.
+		 * @param code of the move that links it to the layer before.
+		 */
+		private void add(long low, long high, int code) {
+			this.visited.put(low, high, this.depth << 3 | code);
+			if(this.size == this.lows.length) {
+				this.lows = Arrays.copyOf(this.lows, this.size * 2);
+				this.highs = Arrays.copyOf(this.highs, this.size * 2);
+			}
+			this.lows[this.size] = low;
+			this.highs[this.size] = high;
+			++this.size;
+		}
+
+	}
+
+	/**
+	 * Open addressed map from a two long position to a non-negative int.
+	 */
+	private static class WideMap {
+
+		private long[] lows = new long[1024];
+		private long[] highs = new long[1024];
+		private int[] values = new int[1024];
+		private int size = 0;
+
+		/**
+		 * Looks up a position.
+		 * @param low is the low long of the position.
+		 * @param high is the high long of the position.
+		 * @return value of the position, or -1 if it is not in the map.
+		 */
+		private int get(long low, long high) {
+			final int MASK = this.values.length - 1;
+			for(int i = WideMap.mix(low, high) & MASK; ; i = (i + 1) & MASK) {
+				if(this.values[i] == 0) {
+					return -1;
+				}
+				if(this.lows[i] == low && this.highs[i] == high) {
+					return this.values[i] - 1;
+				}
+			}
+		}
+
+		/**
+		 * Adds a position that is not in the map yet.
+		 * @param low is the low long of the position.
+		 * @param high is the high long of the position.
+		 * @param value of the position.
+		 */
+		private void put(long low, long high, int value) {
+
+			if(++this.size * 2 > this.values.length) {
+				this.grow();
+			}
+
+			//Values are stored one higher, so zero can mark a free slot.
+			final int MASK = this.values.length - 1;
+			int i = WideMap.mix(low, high) & MASK;
+			while(this.values[i] != 0) {
+				i = (i + 1) & MASK;
+			}
+			this.lows[i] = low;
+			this.highs[i] = high;
+			this.values[i] = value + 1;
+		}
+
+		/**
+		 * Doubles the table.
+		 */
+		private void grow() {
+			final long[] LOWS = this.lows;
+			final long[] HIGHS = this.highs;
+			final int[] VALUES = this.values;
+
+			this.lows = new long[LOWS.length * 2];
+			this.highs = new long[LOWS.length * 2];
+			this.values = new int[LOWS.length * 2];
+
+			final int MASK = this.values.length - 1;
+			for(int j = 0; j < VALUES.length; j++) {
+				if(VALUES[j] != 0) {
+					int i = WideMap.mix(LOWS[j], HIGHS[j]) & MASK;
+					while(this.values[i] != 0) {
+						i = (i + 1) & MASK;
+					}
+					this.lows[i] = LOWS[j];
+					this.highs[i] = HIGHS[j];
+					this.values[i] = VALUES[j];
+				}
+			}
+		}
+
+		/**
+		 * Spreads the bits of a position over an int.
+		 * @param low is the low long of the position.
+		 * @param high is the high long of the position.
+		 * @return hash of the position.
+		 */
+		private static int mix(long low, long high) {
+			return LongHashSet.mix(low * 0x9E3779B97F4A7C15L ^ high);
+		}
+
+	}
+
+}
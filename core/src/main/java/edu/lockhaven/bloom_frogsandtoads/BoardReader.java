@@ -0,0 +1,204 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads boards written by a {@link BoardWriter}, one record at a time.
+ * Blank lines and lines starting with '#' between records are skipped.
+ *  Text is read through a small buffer straight into the board, so a file of
+ *  any number of boards, or a single very large board, is read without
+ *  building strings. Boards of more than MAX_CELLS cells are rejected
+ *  before their grid is made, so a corrupt header cannot run out of memory.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class BoardReader implements Closeable {
+
+	//Largest board read, which is about 8 MB of grid.
+	public final static int MAX_CELLS = 1 << 22;
+
+	private final Reader in;
+	private final char[] buffer = new char[8192];
+	private int position = 0;
+	private int limit = 0;
+	private long line = 1;
+
+	/**
+	 * Creates a reader of board records.
+	 * @param in holds the text.
+	 */
+	public BoardReader(Reader in) {
+		this.in = in;
+	}
+
+	/**
+	 * Reads the next board.
+	 * @return the board with no previous moves, or null if there are no more records.
+	 * @throws IOException if the text cannot be read or is not a valid board.
+	 */
+	public FrogsAndToads read() throws IOException {
+
+		int next = this.skipBlankLines();
+		if(next < 0) {
+			return null;
+		}
+
+		//Reads the header.
+		final int ROWS = this.readNumber(next);
+		next = this.next();
+		while(next == ' ' || next == '\t') {
+			next = this.next();
+		}
+		final int COLUMNS = this.readNumber(next);
+		this.readLineEnd(this.next());
+
+		if(ROWS % 2 == 0 || COLUMNS % 2 == 0) {
+			throw this.error("Board size must be odd: " + ROWS + " x " + COLUMNS);
+		}
+		if((long) ROWS * COLUMNS > BoardReader.MAX_CELLS) {
+			throw this.error("Board is larger than " + BoardReader.MAX_CELLS + " cells: " + ROWS + " x " + COLUMNS);
+		}
+
+		//Reads the rows straight into the grid.
+		char[][] grid = new char[ROWS][COLUMNS];
+		int emptyRow = -1;
+		int emptyColumn = -1;
+
+		for(int r = 0; r < ROWS; r++) {
+			for(int c = 0; c < COLUMNS; c++) {
+				final int SPACE = this.next();
+				if(SPACE == FrogsAndToads.EMPTY_SPACE) {
+					if(emptyRow >= 0) {
+						throw this.error("Board has more than one empty space.");
+					}
+					emptyRow = r;
+					emptyColumn = c;
+				} else if(SPACE != FrogsAndToads.FROG_SPACE && SPACE != FrogsAndToads.TOAD_SPACE) {
+					if(SPACE < 0) {
+						throw this.error("Board ended early.");
+					} else if(SPACE == '\n' || SPACE == '\r') {
+						throw this.error("Row " + r + " is too short.");
+					}
+					throw this.error("Unexpected character '" + (char) SPACE + "'.");
+				}
+				grid[r][c] = (char) SPACE;
+			}
+			this.readLineEnd(this.next());
+		}
+
+		if(emptyRow < 0) {
+			throw this.error("Board has no empty space.");
+		}
+
+		return new FrogsAndToads(grid, emptyRow, emptyColumn);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.in.close();
+	}
+
+	/**
+	 * Skips blank lines and comments.
+	 * @return first character of the next record, or -1 at the end of the text.
+	 * @throws IOException if the text cannot be read.
+	 */
+	private int skipBlankLines() throws IOException {
+		int next = this.next();
+		while(true) {
+			if(next == '#') {
+				while(next >= 0 && next != '\n') {
+					next = this.next();
+				}
+			} else if(next != '\n' && next != '\r' && next != ' ' && next != '\t') {
+				return next;
+			}
+			next = this.next();
+		}
+	}
+
+	/**
+	 * Reads a positive number.
+	 * @param first is the first character of the number.
+	 * @return the number.
+	 * @throws IOException if there is no number or it is too large.
+	 */
+	private int readNumber(int first) throws IOException {
+
+		if(first < '0' || first > '9') {
+			throw this.error("Expected a board size.");
+		}
+
+		long number = first - '0';
+		while(this.peek() >= '0' && this.peek() <= '9') {
+			number = number * 10 + (this.next() - '0');
+			if(number > Integer.MAX_VALUE) {
+				throw this.error("Board size is too large.");
+			}
+		}
+
+		if(number == 0) {
+			throw this.error("Board size must be positive.");
+		}
+		return (int) number;
+	}
+
+	/**
+	 * Checks that a line ends here.
+	 * @param next is the character after the line.
+	 * @throws IOException if the line has more on it.
+	 */
+	private void readLineEnd(int next) throws IOException {
+		if(next == '\r') {
+			next = this.next();
+		}
+		if(next != '\n' && next >= 0) {
+			throw this.error("Expected the end of the line.");
+		}
+	}
+
+	/**
+	 * Reads the next character.
+	 * @return the character, or -1 at the end of the text.
+	 * @throws IOException if the text cannot be read.
+	 */
+	private int next() throws IOException {
+		final int NEXT = this.peek();
+		if(NEXT >= 0) {
+			++this.position;
+			if(NEXT == '\n') {
+				++this.line;
+			}
+		}
+		return NEXT;
+	}
+
+	/**
+	 * Looks at the next character without reading it.
+	 * @return the character, or -1 at the end of the text.
+	 * @throws IOException if the text cannot be read.
+	 */
+	private int peek() throws IOException {
+		if(this.position == this.limit) {
+			final int READ = this.in.read(this.buffer, 0, this.buffer.length);
+			if(READ <= 0) {
+				return -1;
+			}
+			this.position = 0;
+			this.limit = READ;
+		}
+		return this.buffer[this.position];
+	}
+
+	/**
+	 * Creates an error for the current line.
+	 * @param message describes the problem.
+	 * @return the error.
+	 */
+	private IOException error(String message) {
+		return new IOException("Line " + this.line + ": " + message);
+	}
+
+}
@@ -0,0 +1,109 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes boards as plain text, one record after another.
+ * Each record is a line with the number of rows and columns, then one line
+ *  per row using 'F' for a frog, 'T' for a toad and '-' for the empty space,
+ *  then a blank line. Boards are written a row at a time, so the text of a
+ *  whole board is never held in memory.
+ * @version 1.0
+ * @author Michael Bloom
+ * @see BoardReader
+ */
+public class BoardWriter implements Closeable, Flushable {
+
+	private final Appendable out;
+	private char[] row = new char[0];
+
+	/**
+	 * Creates a writer of board records.
+	 * @param out receives the text. A {@link Writer} is written a row at a time.
+	 */
+	public BoardWriter(Appendable out) {
+		this.out = out;
+	}
+
+	/**
+	 * Writes one board as a record.
+	 * @param game is the board to write.
+	 * @throws IOException if the text cannot be written.
+	 */
+	public void write(FrogsAndToads game) throws IOException {
+
+		final int ROWS = game.getRowLength();
+		final int COLUMNS = game.getColumnLength();
+
+		this.out.append(Integer.toString(ROWS)).append(' ').append(Integer.toString(COLUMNS)).append('\n');
+
+		if(this.row.length < COLUMNS + 1) {
+			this.row = new char[COLUMNS + 1];
+		}
+		this.row[COLUMNS] = '\n';
+
+		for(int r = 0; r < ROWS; r++) {
+
+			//Fills the reused row buffer instead of building a string.
+			for(int c = 0; c < COLUMNS; c++) {
+				if(game.frogAt(r, c)) {
+					this.row[c] = FrogsAndToads.FROG_SPACE;
+				} else if(game.toadAt(r, c)) {
+					this.row[c] = FrogsAndToads.TOAD_SPACE;
+				} else {
+					this.row[c] = FrogsAndToads.EMPTY_SPACE;
+				}
+			}
+
+			this.writeRow(COLUMNS + 1);
+		}
+
+		this.out.append('\n');
+	}
+
+	/**
+	 * Flushes the text if the destination can be flushed.
+	 * @throws IOException if the text cannot be flushed.
+	 */
+	@Override
+	public void flush() throws IOException {
+		if(this.out instanceof Flushable) {
+			((Flushable) this.out).flush();
+		}
+	}
+
+	/**
+	 * Closes the destination if it can be closed.
+	 * @throws IOException if the destination cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if(this.out instanceof Closeable) {
+			((Closeable) this.out).close();
+		} else {
+			this.flush();
+		}
+	}
+
+	/**
+	 * Writes the start of the row buffer.
+	 * @param length is the number of characters to write.
+	 * @throws IOException if the text cannot be written.
+	 */
+	private void writeRow(int length) throws IOException {
+
+		//Writer.append would copy the row into a string first.
+		if(this.out instanceof Writer) {
+			((Writer) this.out).write(this.row, 0, length);
+			return;
+		}
+
+		for(int i = 0; i < length; i++) {
+			this.out.append(this.row[i]);
+		}
+	}
+
+}
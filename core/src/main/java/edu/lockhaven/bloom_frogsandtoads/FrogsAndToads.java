@@ -0,0 +1,786 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
+
+/**
+ * Frogs and Toads
+ * @version 1.1
+ * @author Michael Bloom
+ */
+public class FrogsAndToads implements Serializable {
+
+	private static final long serialVersionUID = 6125612625697345892L;
+
+	private Stack<int[]> previousMoves = new Stack<>();
+	private int[] emptyCords = new int[2];
+	private char[][] grid;
+	
+	//Published copy of the board, only kept once someone asks for it.
+	private transient volatile Position snapshot;
+	
+	final static char EMPTY_SPACE = '-';
+	final static char FROG_SPACE = 'F';
+	final static char TOAD_SPACE = 'T';
+	
+	/**
+	 * Creates a game of default size.
+	 */
+	public FrogsAndToads() {
+		this(5);
+	};
+
+	/**
+	 * Creates a new game on a square grid.
+	 * @param size is the length of the square on each side.
+	 */
+	public FrogsAndToads(int size) {
+		this(size, size);
+	}
+	
+	/**
+	 * Creates a new game on a rectangular grid.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 */
+	public FrogsAndToads(int rows, int columns) {
+		
+		//Checks if the rows are even. If so, increment by 1.
+		//NOTE: Rows need to be odd for the game to work.
+		if(rows % 2 == 0) {
+			++rows;
+		}
+		
+		//Checks if the columns are even. If so, increment by 1.
+		//NOTE: Columns need to be odd for the game to work.
+		if(columns % 2 == 0) {
+			++columns;
+		}
+		
+		//Specify the dimensions of the grid.
+		this.grid = new char[rows][columns];
+		
+		//Divide the grid in two.
+		final int HALF_ROWS = rows / 2;
+		final int HALF_COLUMNS = columns / 2;
+		
+		//Generate the grid.
+		for(int r = 0; r < rows; r++) {
+			for(int c = 0; c < columns; c++) {
+				
+				if(r < HALF_ROWS || (c < HALF_COLUMNS && !(r > HALF_ROWS))) {
+					//Creates the first half of the rows with frogs.
+					this.grid[r][c] = FrogsAndToads.FROG_SPACE;
+					
+				} else if(r > HALF_ROWS || (c > HALF_COLUMNS && !(r < HALF_ROWS))) {
+					//Creates the second half of the rows with toads.
+					this.grid[r][c] = FrogsAndToads.TOAD_SPACE;
+					
+				} else {
+					//Sets what is assumed to be the middle space as empty.
+					//Sets the coordinates of where the empty space is.
+					this.grid[r][c] = FrogsAndToads.EMPTY_SPACE;
+					this.setEmptyCords(r, c);
+				}
+				
+			}
+		}
+		
+	}
+	
+	/**
+	 * Creates a copy of another game's board.
+	 * The previous moves are not copied, so the copy cannot undo past this point.
+	 * @param other is the game to be copied.
+	 */
+	public FrogsAndToads(FrogsAndToads other) {
+		this.grid = new char[other.grid.length][];
+		for(int r = 0; r < other.grid.length; r++) {
+			this.grid[r] = other.grid[r].clone();
+		}
+		this.setEmptyCords(other.getEmptySpaceRow(), other.getEmptySpaceColumn());
+	}
+	
+	/**
+	 * Creates a game from a snapshot.
+	 * Like any new game, it only publishes snapshots once {@link #getSnapshot()} is called.
+	 * @param position is the board to start from.
+	 */
+	public FrogsAndToads(Position position) {
+		this.grid = new char[position.getRowLength()][position.getColumnLength()];
+		for(int r = 0; r < this.grid.length; r++) {
+			position.copyRow(r, this.grid[r]);
+		}
+		this.setEmptyCords(position.getEmptySpaceRow(), position.getEmptySpaceColumn());
+	}
+	
+	/**
+	 * Creates a game from a grid that is not shared with anything else.
+	 * @param grid is the rows of the board, which the game takes over.
+	 * @param emptyRow is the row of the empty space.
+	 * @param emptyColumn is the column of the empty space.
+	 */
+	FrogsAndToads(char[][] grid, int emptyRow, int emptyColumn) {
+		this.grid = grid;
+		this.setEmptyCords(emptyRow, emptyColumn);
+	}
+	
+	/**
+	 * Creates a copy of this game.
+	 * Only the rows are copied, so this is cheap enough to call for every
+	 *  position of a search.
+	 * @param history is true if the copy should be able to undo the same moves.
+	 * @return new game with the same board.
+	 * @see GamePool
+	 */
+	public FrogsAndToads fork(boolean history) {
+		
+		FrogsAndToads fork = new FrogsAndToads(this);
+		if(history) {
+			//Moves are never changed once pushed, so the copy can share them.
+			fork.previousMoves.addAll(this.previousMoves);
+		}
+		
+		return fork;
+	}
+	
+	/**
+	 * Copies the board of another game of the same size into this game.
+	 * The previous moves of this game are cleared.
+	 * @param other is the game to be copied.
+	 */
+	public void copyFrom(FrogsAndToads other) {
+		this.copyFrom(other, false);
+	}
+	
+	/**
+	 * Copies the board of another game of the same size into this game.
+	 * @param other is the game to be copied.
+	 * @param history is true to copy the previous moves, false to clear them.
+	 */
+	public void copyFrom(FrogsAndToads other, boolean history) {
+		
+		//Checks that the boards are the same size.
+		if(other.getRowLength() != this.getRowLength() || other.getColumnLength() != this.getColumnLength()) {
+			throw new IllegalArgumentException("Boards are different sizes.");
+		}
+		
+		for(int r = 0; r < other.grid.length; r++) {
+			System.arraycopy(other.grid[r], 0, this.grid[r], 0, other.grid[r].length);
+		}
+		this.setEmptyCords(other.getEmptySpaceRow(), other.getEmptySpaceColumn());
+		if(!history) {
+			this.previousMoves.clear();
+		} else if(other != this) {
+			this.previousMoves.clear();
+			this.previousMoves.addAll(other.previousMoves);
+		}
+		
+		//Keeps publishing if something was already reading the snapshots.
+		if(this.snapshot != null) {
+			this.snapshot = Position.of(this);
+		}
+	}
+	
+	/**
+	 * Retrieves an immutable snapshot of the current board.
+	 * Once asked for, a new snapshot is published after every move and undo
+	 *  by copying only the changed rows, so other threads can keep reading
+	 *  the latest one without locking. The first call must be made from the
+	 *  thread that changes the game.
+	 * @return snapshot of the board.
+	 */
+	public Position getSnapshot() {
+		Position current = this.snapshot;
+		if(current == null) {
+			current = Position.of(this);
+			this.snapshot = current;
+		}
+		return current;
+	}
+	
+	/**
+	 * Publishes the snapshot after a cell was swapped with the empty space.
+	 * @param row of the cell swapped with the empty space.
+	 * @param column of the cell swapped with the empty space.
+	 */
+	private void publish(int row, int column) {
+		Position current = this.snapshot;
+		if(current != null) {
+			this.snapshot = current.swap(row, column);
+		}
+	}
+	
+	/**
+	 * Retrieves the number of rows within the game space.
+	 * @return rows length
+	 */
+	public int getRowLength() {
+		return this.grid.length;
+	}
+	
+	/**
+	 * Retrieves the number of columns within the game space.
+	 * @return column length
+	 */
+	public int getColumnLength(){
+		return this.grid[0].length;
+	}
+	
+	/**
+	 * Retrieves the row of the empty space.
+	 * @return empty space row
+	 */
+	public int getEmptySpaceRow() {
+		return this.emptyCords[0];
+	}
+	
+	/**
+	 * Retrieves the column of the empty space.
+	 * @return empty space column
+	 */
+	public int getEmptySpaceColumn() {
+		return this.emptyCords[1];
+	}
+	
+	/**
+	 * Sets the empty coordinates.
+	 * @param row of the cell with the empty space.
+	 * @param column of the cell with the empty space.
+	 */
+	private void setEmptyCords(int row, int column) {
+		this.emptyCords[0] = row;
+		this.emptyCords[1] = column;
+	}
+	
+	/**
+	 * Retrieves an identifier of the current position.
+	 * Two games with the same dimensions and the same pieces in the
+	 *  same cells always have the same identifier.
+	 * @return 64 bit hash of the grid.
+	 */
+	public long getPositionId() {
+		
+		//FNV-1a hash of every cell, row by row.
+		long hash = 0xcbf29ce484222325L;
+		for(char[] row : this.grid) {
+			for(char space : row) {
+				hash ^= space;
+				hash *= 0x100000001b3L;
+			}
+		}
+		
+		return hash;
+	}
+	
+	/**
+	 * Returns true if the there is at least one legal move.
+	 * @return if there is a legal move.
+	 */
+	public boolean canMove() {
+		return this.getLegalMoveCodes() != 0;
+	}
+	
+	/**
+	 * Returns true if the empty space is at (row, column).
+	 * @param row of the cell that is checked for an empty space.
+	 * @param column of the cell that is check for an empty space.
+	 * @return if the cell contains an empty space.
+	 */
+	public boolean emptyAt(int row, int column) {
+		return ((row >= 0 && row < this.grid.length) 
+				&& (column >= 0 && column < this.grid[0].length) 
+				&& this.grid[row][column] == FrogsAndToads.EMPTY_SPACE);
+	}
+	
+	/**
+	 * Returns true there is a frog at (row, column).
+	 * @param row of the cell that is check for a frog.
+	 * @param column of the cell that is check for a frog.
+	 * @return if the cell contains a frog.
+	 */
+	public boolean frogAt(int row, int column) {
+		return ((row >= 0 && row < this.grid.length) 
+				&& (column >= 0 && column < this.grid[0].length) 
+				&& this.grid[row][column] == FrogsAndToads.FROG_SPACE);
+	}
+	
+	/**
+	 * Returns true if there is a toad at (row, column).
+	 * @param row of the cell that is checked for a toad.
+	 * @param column of the cell that is checked for a toad.
+	 * @return if the cell contains a toad.
+	 */
+	public boolean toadAt(int row, int column) {
+		return ((row >= 0 && row < this.grid.length)
+				&& (column >= 0 && column < this.grid[0].length)
+				&& this.grid[row][column] == FrogsAndToads.TOAD_SPACE);
+	}
+	
+	/**
+	 * Returns true if the positions of the frogs
+	 *  and toads in the starting configuration
+	 *  have been interchanged (game over).
+	 * @return if the user won the game.
+	 */
+	public boolean over() {
+		final long START = Metrics.start();
+		final boolean OVER = this.swapped();
+		Metrics.GAME_OVER.stop(START);
+		return OVER;
+	}
+	
+	/**
+	 * Returns true if every frog and toad is on the other side of the board.
+	 * @return if the pieces have been interchanged.
+	 */
+	private boolean swapped() {
+		
+		//Over function is similar to the constructor.
+		//	The only difference is that the over function
+		//	checks if the grid opposite to the starting grid.
+		
+		//Divide the grid in two.
+		final int HALF_ROWS = this.getRowLength() / 2;
+		final int HALF_COLUMNS = this.getColumnLength() / 2;
+		
+		//Iterate through the grid.
+		for(int r = 0; r < this.getRowLength(); r++) {
+			for(int c = 0; c < this.getColumnLength(); c++) {
+				
+				if(r < HALF_ROWS || (c < HALF_COLUMNS && !(r > HALF_ROWS))) {
+					//Checks if the first half of rows are toads.
+					if(this.grid[r][c] != FrogsAndToads.TOAD_SPACE) {
+						return false;
+					}
+					
+				} else if(r > HALF_ROWS || (c > HALF_COLUMNS && !(r < HALF_ROWS))) {
+					//Checks if the second half of the rows are frogs.
+					if(this.grid[r][c] != FrogsAndToads.FROG_SPACE) {
+						return false;
+					}
+					
+				} else {
+					//Checks if the empty space occupies what should be the middle.
+					if(this.grid[r][c] != FrogsAndToads.EMPTY_SPACE) {
+						return false;
+					}
+					
+				}
+				
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Makes a move at cell (row, column).
+	 * @param row of the cell to be swapped with the empty space.
+	 * @param column of the cell to be swapped with the empty space.
+	 * @return true if a move was successful.
+	 */
+	public boolean move(int row, int column) {
+		
+		//Finds the move code of the cell instead of building the list of legal moves.
+		final int CODE = Moves.codeOf(this.getEmptySpaceRow(), this.getEmptySpaceColumn(), row, column);
+		return CODE >= 0 && this.move((byte) CODE, true);
+	}
+	
+	/**
+	 * Makes a move from a packed move code.
+	 * @param code of the move relative to the empty space.
+	 * @return true if a move was successful.
+	 * @see Moves
+	 */
+	public boolean move(byte code) {
+		return this.move(code, true);
+	}
+	
+	/**
+	 * Makes a move from a packed move code without building the list of legal moves.
+	 * A move that is not remembered clears the previous moves, since undoing
+	 *  them would no longer lead back to the boards they came from.
+	 * @param code of the move relative to the empty space.
+	 * @param remember is false if the move should not be added to the previous moves.
+	 * @return true if a move was successful.
+	 * @see Moves
+	 */
+	public boolean move(byte code, boolean remember) {
+		
+		final long START = Metrics.start();
+		
+		if(!this.step(code, remember)) {
+			Metrics.GAME_MOVE.stop(START);
+			return false;
+		}
+		
+		this.publish(this.getEmptySpaceRow(), this.getEmptySpaceColumn());
+		
+		Metrics.GAME_MOVE.stop(START);
+		Metrics.GAME_UNDO_DEPTH.set(this.previousMoves.size());
+		return true;
+	}
+	
+	/**
+	 * Makes many moves from packed move codes in one pass.
+	 * Each move is checked as it is made, and the moves stop at the first
+	 *  illegal one, leaving the moves before it in place.
+	 * @param codes of the moves relative to the empty space.
+	 * @param offset of the first move.
+	 * @param count is the number of moves.
+	 * @param remember is false if the moves should not be added to the previous moves.
+	 * @return index in codes of the first illegal move, or -1 if every move was made.
+	 * @see Moves
+	 */
+	public int moveAll(byte[] codes, int offset, int count, boolean remember) {
+		
+		final long START = Metrics.start();
+		
+		int illegal = -1;
+		for(int i = offset; i < offset + count; i++) {
+			if(!this.step(codes[i], remember)) {
+				illegal = i;
+				break;
+			}
+		}
+		
+		//Publishes one snapshot for the whole batch.
+		if(this.snapshot != null) {
+			this.snapshot = Position.of(this);
+		}
+		
+		//Records every move tried, as move() would, each taking an equal share of the time.
+		if(START != 0) {
+			final int TRIED = illegal < 0 ? count : illegal - offset + 1;
+			if(TRIED > 0) {
+				final long EACH = (System.nanoTime() - START) / TRIED;
+				for(int i = 0; i < TRIED; i++) {
+					Metrics.GAME_MOVE.record(EACH);
+				}
+			}
+			Metrics.GAME_UNDO_DEPTH.set(this.previousMoves.size());
+		}
+		
+		return illegal;
+	}
+	
+	/**
+	 * Makes every move in a replay in one pass.
+	 * @param replay to read the moves from.
+	 * @param remember is false if the moves should not be added to the previous moves.
+	 * @return index in the replay of the first illegal move, or -1 if every move was made.
+	 * @throws IOException if the replay cannot be read or is for another board size.
+	 * @see #moveAll(byte[], int, int, boolean)
+	 */
+	public long moveAll(ReplayReader replay, boolean remember) throws IOException {
+		
+		//Checks that the replay was written for a board of this size.
+		if(replay.getRowLength() != this.getRowLength() || replay.getColumnLength() != this.getColumnLength()) {
+			throw new IOException("Replay is for a " + replay.getRowLength() + "x" + replay.getColumnLength()
+					+ " board, not " + this.getRowLength() + "x" + this.getColumnLength() + ".");
+		}
+		
+		byte[] codes = new byte[4096];
+		long index = 0;
+		int read;
+		
+		while((read = replay.read(codes, 0, codes.length)) > 0) {
+			final int ILLEGAL = this.moveAll(codes, 0, read, remember);
+			if(ILLEGAL >= 0) {
+				return index + ILLEGAL;
+			}
+			index += read;
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Makes a move from a packed move code without publishing a snapshot.
+	 * @param code of the move relative to the empty space.
+	 * @param remember is false if the move should not be added to the previous moves.
+	 * @return true if a move was successful.
+	 */
+	private boolean step(byte code, boolean remember) {
+		
+		//Checks the code against the legal moves.
+		if(code < 0 || code >= Moves.COUNT || (this.getLegalMoveCodes() & (1 << code)) == 0) {
+			return false;
+		}
+		
+		final int ROW = this.getEmptySpaceRow() + Moves.rowOffset(code);
+		final int COLUMN = this.getEmptySpaceColumn() + Moves.columnOffset(code);
+		
+		//Swaps the empty space with the other item.
+		this.grid[this.getEmptySpaceRow()][this.getEmptySpaceColumn()] = this.grid[ROW][COLUMN];
+		if(remember) {
+			this.previousMoves.push(new int[]{this.getEmptySpaceRow(), this.getEmptySpaceColumn()});
+		} else {
+			this.forget();
+		}
+		
+		this.grid[ROW][COLUMN] = FrogsAndToads.EMPTY_SPACE;
+		this.setEmptyCords(ROW, COLUMN);
+		return true;
+	}
+	
+	/**
+	 * Undoes the most recent move.
+	 * @return true if an undo was successful.
+	 */
+	public boolean undo() {
+		
+		final long START = Metrics.start();
+		
+		//Checks if stack is empty.
+		if(this.previousMoves.isEmpty()) {
+			Metrics.GAME_UNDO.stop(START);
+			return false;
+		}
+		
+		//Pops the previous move off the stack and swaps the empty space 
+		//	with the space that was moved.
+		int[] cords = this.previousMoves.pop();
+		char swap = this.grid[cords[0]][cords[1]];
+		this.grid[this.getEmptySpaceRow()][this.getEmptySpaceColumn()] = swap;
+		
+		this.grid[cords[0]][cords[1]] = FrogsAndToads.EMPTY_SPACE;
+		this.setEmptyCords(cords[0], cords[1]);
+		this.publish(cords[0], cords[1]);
+
+		Metrics.GAME_UNDO.stop(START);
+		Metrics.GAME_UNDO_DEPTH.set(this.previousMoves.size());
+		return true;
+	}
+	
+	/**
+	 * Returns the legal moves from the current configuration as packed move codes.
+	 * Follows the same rules as {@link #getLegalMoves()} without creating a list.
+	 * @return bit mask with one bit set for every legal move code.
+	 * @see Moves
+	 */
+	public int getLegalMoveCodes() {
+		
+		final int ROW = this.getEmptySpaceRow();
+		final int COLUMN = this.getEmptySpaceColumn();
+		
+		int codes = 0;
+		
+		//Checks below the empty space for a toad.
+		if(this.toadAt(ROW + 1, COLUMN)) {
+			codes |= 1 << Moves.code(Moves.DOWN, false);
+		} else if(this.toadAt(ROW + 2, COLUMN)) {
+			codes |= 1 << Moves.code(Moves.DOWN, true);
+		}
+		
+		//Checks right of the empty space for a toad.
+		if(this.toadAt(ROW, COLUMN + 1)) {
+			codes |= 1 << Moves.code(Moves.RIGHT, false);
+		} else if(this.toadAt(ROW, COLUMN + 2)) {
+			codes |= 1 << Moves.code(Moves.RIGHT, true);
+		}
+		
+		//Checks above the empty space for a frog.
+		if(this.frogAt(ROW - 1, COLUMN)) {
+			codes |= 1 << Moves.code(Moves.UP, false);
+		} else if(this.frogAt(ROW - 2, COLUMN)) {
+			codes |= 1 << Moves.code(Moves.UP, true);
+		}
+		
+		//Checks left of the empty space for a frog.
+		if(this.frogAt(ROW, COLUMN - 1)) {
+			codes |= 1 << Moves.code(Moves.LEFT, false);
+		} else if(this.frogAt(ROW, COLUMN - 2)) {
+			codes |= 1 << Moves.code(Moves.LEFT, true);
+		}
+		
+		return codes;
+	}
+	
+	/**
+	 * Returns the moves that could have led to the current configuration.
+	 * A move code is set if taking it back with {@link #reverse(byte)} would
+	 *  leave a board where that move is legal.
+	 * @return bit mask with one bit set for every move code that can be taken back.
+	 * @see Moves
+	 */
+	public int getReverseMoveCodes() {
+		
+		final int ROW = this.getEmptySpaceRow();
+		final int COLUMN = this.getEmptySpaceColumn();
+		
+		int codes = 0;
+		
+		//Toads above or left of the empty space, frogs below or right of it.
+		for(int code = 0; code < Moves.COUNT; code++) {
+			final int DIRECTION = Moves.direction(code);
+			final boolean TOAD = DIRECTION == Moves.DOWN || DIRECTION == Moves.RIGHT;
+			final int ROW_OFFSET = Moves.rowOffset(code);
+			final int COLUMN_OFFSET = Moves.columnOffset(code);
+			
+			//Checks for the piece that made the move.
+			if(!(TOAD ? this.toadAt(ROW - ROW_OFFSET, COLUMN - COLUMN_OFFSET)
+					: this.frogAt(ROW - ROW_OFFSET, COLUMN - COLUMN_OFFSET))) {
+				continue;
+			}
+			
+			//Checks for the piece that was jumped.
+			if(Moves.isJump(code) && !(TOAD ? this.frogAt(ROW - ROW_OFFSET / 2, COLUMN - COLUMN_OFFSET / 2)
+					: this.toadAt(ROW - ROW_OFFSET / 2, COLUMN - COLUMN_OFFSET / 2))) {
+				continue;
+			}
+			
+			codes |= 1 << code;
+		}
+		
+		return codes;
+	}
+	
+	/**
+	 * Takes back a move without using the previous moves.
+	 * The piece that made the move goes back to where it came from. The
+	 *  previous moves are cleared, since they no longer lead back from here.
+	 * @param code of the move to take back.
+	 * @return true if the move could be taken back.
+	 * @see #getReverseMoveCodes()
+	 */
+	public boolean reverse(byte code) {
+		
+		//Checks the code against the moves that can be taken back.
+		if(code < 0 || code >= Moves.COUNT || (this.getReverseMoveCodes() & (1 << code)) == 0) {
+			return false;
+		}
+		
+		final int ROW = this.getEmptySpaceRow() - Moves.rowOffset(code);
+		final int COLUMN = this.getEmptySpaceColumn() - Moves.columnOffset(code);
+		
+		//Swaps the piece back into the empty space.
+		this.grid[this.getEmptySpaceRow()][this.getEmptySpaceColumn()] = this.grid[ROW][COLUMN];
+		this.grid[ROW][COLUMN] = FrogsAndToads.EMPTY_SPACE;
+		this.setEmptyCords(ROW, COLUMN);
+		this.forget();
+		this.publish(ROW, COLUMN);
+		
+		return true;
+	}
+	
+	/**
+	 * Clears the previous moves after the board changed without them.
+	 */
+	private void forget() {
+		if(!this.previousMoves.isEmpty()) {
+			this.previousMoves.clear();
+		}
+	}
+	
+	/**
+	 * Returns a list of legal moves from the current configuration.
+	 * @return list of legal moves.
+	 */
+	public List<int[]> getLegalMoves(){
+		
+		//Most of the code below involves checking one to two spaces from the empty space.
+		//	An example, if the first space down has a toad, then it counts as a valid
+		//	move; other conditions will be checked. If the first space down has 
+		//	no toad, then an assumption can be made that a frog inhabits that space; 
+		//	the next space below would need to be checked before checking other directions.
+		
+		//Legal Moves
+		//A toad is moving right or up into the empty space.
+		//A frog is moving left or down into the empty space.
+		//A frog can hop over a toad into the empty space.
+		//A toad can hop over a frog into the empty space.
+		
+		final long START = Metrics.start();
+		
+		//Create a list for valid moves.
+		ArrayList<int[]> legalMoves = new ArrayList<>();
+		
+		//Temporary variable for adding valid moves to the list.
+		int[] cords = new int[2];
+			
+		//Checks below the empty space for a valid toad move.
+		if(this.toadAt(this.getEmptySpaceRow() + 1, this.getEmptySpaceColumn())) {
+			cords[0] = this.getEmptySpaceRow() + 1;
+			cords[1] = this.getEmptySpaceColumn();
+			legalMoves.add(cords.clone());
+			
+		} else if(this.toadAt(this.getEmptySpaceRow() + 2, this.getEmptySpaceColumn())) {
+			cords[0] = this.getEmptySpaceRow() + 2;
+			cords[1] = this.getEmptySpaceColumn();
+			legalMoves.add(cords.clone());
+			
+		}
+		
+		//Checks right of the empty space for a valid toad move.
+		if(this.toadAt(this.getEmptySpaceRow(), this.getEmptySpaceColumn() + 1)) {
+			cords[0] = this.getEmptySpaceRow();
+			cords[1] = this.getEmptySpaceColumn() + 1;
+			legalMoves.add(cords.clone());
+			
+		} else if(this.toadAt(this.getEmptySpaceRow(), this.getEmptySpaceColumn() + 2)) {
+			cords[0] = this.getEmptySpaceRow();
+			cords[1] = this.getEmptySpaceColumn() + 2;
+			legalMoves.add(cords.clone());
+			
+		}
+	
+		//Checks above the empty space for a valid frog move.
+		if(this.frogAt(this.getEmptySpaceRow() - 1, this.getEmptySpaceColumn())) {
+			cords[0] = this.getEmptySpaceRow() - 1;
+			cords[1] = this.getEmptySpaceColumn();
+			legalMoves.add(cords.clone());
+			
+		} else if(this.frogAt(getEmptySpaceRow() - 2, this.getEmptySpaceColumn())) {
+			cords[0] = this.getEmptySpaceRow() - 2;
+			cords[1] = this.getEmptySpaceColumn();
+			legalMoves.add(cords.clone());
+			
+		}
+		
+		//Checks left of the empty space for a valid frog move.
+		if(this.frogAt(this.getEmptySpaceRow(), this.getEmptySpaceColumn() - 1)) {
+			cords[0] = this.getEmptySpaceRow();
+			cords[1] = this.getEmptySpaceColumn() - 1;
+			legalMoves.add(cords.clone());
+			
+		} else if(this.frogAt(this.getEmptySpaceRow(), this.getEmptySpaceColumn() - 2)) {
+			cords[0] = this.getEmptySpaceRow();
+			cords[1] = this.getEmptySpaceColumn() - 2;
+			legalMoves.add(cords.clone());
+			
+		}
+		
+		Metrics.GAME_LEGAL_MOVES.stop(START);
+		return legalMoves;
+		
+	}
+	
+	@Override
+	public String toString() {
+		
+		//For constructing strings.
+		StringBuilder builder = new StringBuilder("   ");
+		
+		for(int c = 0; c < this.getColumnLength(); c++) {
+			builder.append(c).append(" ");
+		}
+		
+		//Iterates through all the columns and rows within the array.
+		for(int r = 0; r < this.getRowLength(); r++) {
+			builder.append('\n');
+			builder.append(r).append(" ");
+			for(int c = 0; c < this.getColumnLength(); c++) {
+				builder.append(" ").append(this.grid[r][c]);
+			}
+		}
+		
+		//Returns the newly constructed string.
+		return builder.toString();
+	}
+	
+}
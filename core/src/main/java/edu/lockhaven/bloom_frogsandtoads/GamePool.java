@@ -0,0 +1,73 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.ArrayDeque;
+
+/**
+ * Reuses games that are only needed for a moment, such as the positions of
+ *  a search or the boards of random playouts.
+ * A game taken from the pool is overwritten with a copy of another game, so
+ *  its rows are reused instead of allocated again. The pool is not thread
+ *  safe, so each thread should have its own.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class GamePool {
+
+	private final ArrayDeque<FrogsAndToads> free = new ArrayDeque<>();
+	private final int capacity;
+
+	/**
+	 * Creates an empty pool.
+	 * @param capacity is the most games kept for reuse.
+	 */
+	public GamePool(int capacity) {
+
+		if(capacity < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+		}
+
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Copies a game, reusing a game from the pool if there is one of the same size.
+	 * @param source is the game to copy.
+	 * @param history is true if the copy should be able to undo the same moves.
+	 * @return game with the same board as the source.
+	 */
+	public FrogsAndToads fork(FrogsAndToads source, boolean history) {
+
+		//Games of another size are left for the garbage collector.
+		FrogsAndToads game = this.free.pollLast();
+		while(game != null && (game.getRowLength() != source.getRowLength()
+				|| game.getColumnLength() != source.getColumnLength())) {
+			game = this.free.pollLast();
+		}
+
+		if(game == null) {
+			return source.fork(history);
+		}
+
+		game.copyFrom(source, history);
+		return game;
+	}
+
+	/**
+	 * Returns a game to the pool once it is no longer used.
+	 * @param game is the game to reuse, which must not be used again by the caller.
+	 */
+	public void release(FrogsAndToads game) {
+		if(this.free.size() < this.capacity) {
+			this.free.addLast(game);
+		}
+	}
+
+	/**
+	 * Retrieves the number of games waiting to be reused.
+	 * @return games in the pool.
+	 */
+	public int size() {
+		return this.free.size();
+	}
+
+}
@@ -0,0 +1,430 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.Arrays;
+
+/**
+ * Many games of the same size kept in primitive arrays.
+ * Each game is a slot indexed by its id: the cell of the empty space, one
+ *  frog bit per cell and, if the store was made with one, a ring of 4 bit
+ *  move codes for undoing. There are no objects per game, so millions of
+ *  boards cost little more than their bits and add nothing for the garbage
+ *  collector to trace.
+ * Like {@link FrogsAndToads}, the store is not thread safe.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class GameStore {
+
+	private final int rows;
+	private final int columns;
+	private final int words;
+	private final int historyCapacity;
+
+	private final int startEmpty;
+	private final long[] startBits;
+	private final long[] goalBits;
+
+	//Slot data, indexed by game id.
+	private int[] empties;
+	private long[] bits;
+	private byte[] history;
+	private short[] historyStart;
+	private short[] historyDepth;
+	private boolean[] live;
+
+	//Ids of released games, reused before new slots.
+	private int[] released = new int[16];
+	private int releasedCount = 0;
+	private int slots = 0;
+
+	/**
+	 * Creates a store of games that cannot undo, so each game costs only its board.
+	 * Stores that need undo reserve a history with the other constructor.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @param capacity is the number of games expected.
+	 */
+	public GameStore(int rows, int columns, int capacity) {
+		this(rows, columns, capacity, 0);
+	}
+
+	/**
+	 * Creates a store.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @param capacity is the number of games expected.
+	 * @param historyCapacity is the number of moves each game can undo, or -1 for all of them.
+	 *  Each move reserves half a byte per game, so undoing every move of a 9 x 9 game takes 640 bytes.
+	 */
+	public GameStore(int rows, int columns, int capacity, int historyCapacity) {
+
+		FrogsAndToads start = new FrogsAndToads(rows, columns);
+		this.rows = start.getRowLength();
+		this.columns = start.getColumnLength();
+		this.words = (this.rows * this.columns + 63) / 64;
+
+		//Every move moves a piece forward, so a game has at most this many moves.
+		final int LONGEST = (this.rows * this.columns - 1) * (this.rows + this.columns - 2);
+		this.historyCapacity = Math.min(historyCapacity < 0 ? LONGEST : historyCapacity, Short.MAX_VALUE);
+
+		//Packs the starting and winning boards once for resetting and checking.
+		this.startEmpty = start.getEmptySpaceRow() * this.columns + start.getEmptySpaceColumn();
+		this.startBits = new long[this.words];
+		this.goalBits = new long[this.words];
+		for(int i = 0; i < this.rows * this.columns; i++) {
+			if(start.frogAt(i / this.columns, i % this.columns)) {
+				this.startBits[i >> 6] |= 1L << i;
+			} else if(i != this.startEmpty) {
+				this.goalBits[i >> 6] |= 1L << i;
+			}
+		}
+
+		this.resize(Math.max(capacity, 1));
+	}
+
+	/**
+	 * Retrieves the number of rows of every game.
+	 * @return rows length
+	 */
+	public int getRowLength() {
+		return this.rows;
+	}
+
+	/**
+	 * Retrieves the number of columns of every game.
+	 * @return column length
+	 */
+	public int getColumnLength() {
+		return this.columns;
+	}
+
+	/**
+	 * Retrieves the number of games in the store.
+	 * @return number of live games.
+	 */
+	public int size() {
+		return this.slots - this.releasedCount;
+	}
+
+	/**
+	 * Starts a new game.
+	 * @return id of the game.
+	 */
+	public int create() {
+
+		int id;
+		if(this.releasedCount > 0) {
+			id = this.released[--this.releasedCount];
+		} else {
+			if(this.slots == this.empties.length) {
+				this.resize(this.slots * 2);
+			}
+			id = this.slots++;
+		}
+
+		this.live[id] = true;
+		this.reset(id);
+		return id;
+	}
+
+	/**
+	 * Ends a game so its slot can be reused.
+	 * @param id of the game.
+	 * @throws IllegalArgumentException if the game is not in the store or was already released.
+	 */
+	public void release(int id) {
+
+		//Releasing a game twice would hand its slot to two new games.
+		if(id < 0 || id >= this.slots || !this.live[id]) {
+			throw new IllegalArgumentException("Game is not in the store: " + id);
+		}
+		this.live[id] = false;
+
+		if(this.releasedCount == this.released.length) {
+			this.released = Arrays.copyOf(this.released, this.releasedCount * 2);
+		}
+		this.released[this.releasedCount++] = id;
+	}
+
+	/**
+	 * Puts a game back to the starting position and clears its history.
+	 * @param id of the game.
+	 */
+	public void reset(int id) {
+		this.empties[id] = this.startEmpty;
+		System.arraycopy(this.startBits, 0, this.bits, id * this.words, this.words);
+		this.historyStart[id] = 0;
+		this.historyDepth[id] = 0;
+	}
+
+	/**
+	 * Retrieves the row of the empty space.
+	 * @param id of the game.
+	 * @return empty space row
+	 */
+	public int getEmptySpaceRow(int id) {
+		return this.empties[id] / this.columns;
+	}
+
+	/**
+	 * Retrieves the column of the empty space.
+	 * @param id of the game.
+	 * @return empty space column
+	 */
+	public int getEmptySpaceColumn(int id) {
+		return this.empties[id] % this.columns;
+	}
+
+	/**
+	 * Returns true if there is a frog at (row, column).
+	 * @param id of the game.
+	 * @param row of the cell.
+	 * @param column of the cell.
+	 * @return if the cell contains a frog.
+	 */
+	public boolean frogAt(int id, int row, int column) {
+		return row >= 0 && row < this.rows && column >= 0 && column < this.columns
+				&& this.frog(id, row * this.columns + column);
+	}
+
+	/**
+	 * Returns true if there is a toad at (row, column).
+	 * @param id of the game.
+	 * @param row of the cell.
+	 * @param column of the cell.
+	 * @return if the cell contains a toad.
+	 */
+	public boolean toadAt(int id, int row, int column) {
+		return row >= 0 && row < this.rows && column >= 0 && column < this.columns
+				&& this.toad(id, row * this.columns + column);
+	}
+
+	/**
+	 * Returns the legal moves of a game.
+	 * Follows the same rules as {@link FrogsAndToads#getLegalMoves()}.
+	 * @param id of the game.
+	 * @return bit mask with one bit set for every legal move code.
+	 * @see Moves
+	 */
+	public int getLegalMoveCodes(int id) {
+
+		final int EMPTY = this.empties[id];
+		final int ROW = EMPTY / this.columns;
+		final int COLUMN = EMPTY % this.columns;
+
+		int codes = 0;
+
+		//Checks below the empty space for a toad.
+		if(ROW + 1 < this.rows && this.toad(id, EMPTY + this.columns)) {
+			codes |= 1 << Moves.code(Moves.DOWN, false);
+		} else if(ROW + 2 < this.rows && this.toad(id, EMPTY + 2 * this.columns)) {
+			codes |= 1 << Moves.code(Moves.DOWN, true);
+		}
+
+		//Checks right of the empty space for a toad.
+		if(COLUMN + 1 < this.columns && this.toad(id, EMPTY + 1)) {
+			codes |= 1 << Moves.code(Moves.RIGHT, false);
+		} else if(COLUMN + 2 < this.columns && this.toad(id, EMPTY + 2)) {
+			codes |= 1 << Moves.code(Moves.RIGHT, true);
+		}
+
+		//Checks above the empty space for a frog.
+		if(ROW - 1 >= 0 && this.frog(id, EMPTY - this.columns)) {
+			codes |= 1 << Moves.code(Moves.UP, false);
+		} else if(ROW - 2 >= 0 && this.frog(id, EMPTY - 2 * this.columns)) {
+			codes |= 1 << Moves.code(Moves.UP, true);
+		}
+
+		//Checks left of the empty space for a frog.
+		if(COLUMN - 1 >= 0 && this.frog(id, EMPTY - 1)) {
+			codes |= 1 << Moves.code(Moves.LEFT, false);
+		} else if(COLUMN - 2 >= 0 && this.frog(id, EMPTY - 2)) {
+			codes |= 1 << Moves.code(Moves.LEFT, true);
+		}
+
+		return codes;
+	}
+
+	/**
+	 * Returns true if there is at least one legal move.
+	 * @param id of the game.
+	 * @return if there is a legal move.
+	 */
+	public boolean canMove(int id) {
+		return this.getLegalMoveCodes(id) != 0;
+	}
+
+	/**
+	 * Makes a move at cell (row, column).
+	 * @param id of the game.
+	 * @param row of the cell to be swapped with the empty space.
+	 * @param column of the cell to be swapped with the empty space.
+	 * @return true if a move was successful.
+	 */
+	public boolean move(int id, int row, int column) {
+		final int CODE = Moves.codeOf(this.getEmptySpaceRow(id), this.getEmptySpaceColumn(id), row, column);
+		return CODE >= 0 && this.move(id, CODE);
+	}
+
+	/**
+	 * Makes a move from a packed move code.
+	 * @param id of the game.
+	 * @param code of the move relative to the empty space.
+	 * @return true if a move was successful.
+	 */
+	public boolean move(int id, int code) {
+
+		if(code < 0 || code >= Moves.COUNT || (this.getLegalMoveCodes(id) & (1 << code)) == 0) {
+			return false;
+		}
+
+		final int EMPTY = this.empties[id];
+		this.swap(id, EMPTY + Moves.rowOffset(code) * this.columns + Moves.columnOffset(code), EMPTY);
+
+		//Adds the move to the ring, dropping the oldest move once it is full.
+		if(this.historyCapacity > 0) {
+			int depth = this.historyDepth[id];
+			if(depth == this.historyCapacity) {
+				this.historyStart[id] = (short) ((this.historyStart[id] + 1) % this.historyCapacity);
+				--depth;
+			}
+			this.setHistory(id, (this.historyStart[id] + depth) % this.historyCapacity, code);
+			this.historyDepth[id] = (short) (depth + 1);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Undoes the most recent move.
+	 * @param id of the game.
+	 * @return true if an undo was successful.
+	 */
+	public boolean undo(int id) {
+
+		final int DEPTH = this.historyDepth[id];
+		if(DEPTH == 0) {
+			return false;
+		}
+
+		//The piece now sits where the empty space was before the move.
+		final int CODE = this.getHistory(id, (this.historyStart[id] + DEPTH - 1) % this.historyCapacity);
+		final int EMPTY = this.empties[id];
+		this.swap(id, EMPTY - Moves.rowOffset(CODE) * this.columns - Moves.columnOffset(CODE), EMPTY);
+		this.historyDepth[id] = (short) (DEPTH - 1);
+
+		return true;
+	}
+
+	/**
+	 * Retrieves the number of moves that can be undone.
+	 * @param id of the game.
+	 * @return undo depth.
+	 */
+	public int getUndoDepth(int id) {
+		return this.historyDepth[id];
+	}
+
+	/**
+	 * Returns true if the frogs and toads have been interchanged.
+	 * @param id of the game.
+	 * @return if the game is won.
+	 */
+	public boolean over(int id) {
+
+		if(this.empties[id] != this.startEmpty) {
+			return false;
+		}
+
+		final int BASE = id * this.words;
+		for(int w = 0; w < this.words; w++) {
+			if(this.bits[BASE + w] != this.goalBits[w]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if there is a frog at the cell index.
+	 * @param id of the game.
+	 * @param index of the cell.
+	 * @return if the cell contains a frog.
+	 */
+	private boolean frog(int id, int index) {
+		return (this.bits[id * this.words + (index >> 6)] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Returns true if there is a toad at the cell index.
+	 * @param id of the game.
+	 * @param index of the cell.
+	 * @return if the cell contains a toad.
+	 */
+	private boolean toad(int id, int index) {
+		return index != this.empties[id] && !this.frog(id, index);
+	}
+
+	/**
+	 * Moves the piece at one cell into the empty space.
+	 * @param id of the game.
+	 * @param from is the cell of the piece.
+	 * @param empty is the cell of the empty space.
+	 */
+	private void swap(int id, int from, int empty) {
+		final int BASE = id * this.words;
+		if(this.frog(id, from)) {
+			this.bits[BASE + (from >> 6)] &= ~(1L << from);
+			this.bits[BASE + (empty >> 6)] |= 1L << empty;
+		}
+		this.empties[id] = from;
+	}
+
+	/**
+	 * Reads a move code from a game's history.
+	 * @param id of the game.
+	 * @param slot within the ring.
+	 * @return move code.
+	 */
+	private int getHistory(int id, int slot) {
+		final long NIBBLE = (long) id * this.historyCapacity + slot;
+		final int PACKED = this.history[(int) (NIBBLE >> 1)];
+		return (NIBBLE & 1) == 0 ? PACKED & 0x0F : (PACKED >> 4) & 0x0F;
+	}
+
+	/**
+	 * Writes a move code into a game's history.
+	 * @param id of the game.
+	 * @param slot within the ring.
+	 * @param code of the move.
+	 */
+	private void setHistory(int id, int slot, int code) {
+		final long NIBBLE = (long) id * this.historyCapacity + slot;
+		final int INDEX = (int) (NIBBLE >> 1);
+		if((NIBBLE & 1) == 0) {
+			this.history[INDEX] = (byte) ((this.history[INDEX] & 0xF0) | code);
+		} else {
+			this.history[INDEX] = (byte) ((this.history[INDEX] & 0x0F) | (code << 4));
+		}
+	}
+
+	/**
+	 * Grows every slot array to hold more games.
+	 * @param capacity is the new number of slots.
+	 */
+	private void resize(int capacity) {
+		final long HISTORY_BYTES = ((long) capacity * this.historyCapacity + 1) / 2;
+		if(HISTORY_BYTES > Integer.MAX_VALUE - 8 || (long) capacity * this.words > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("Too many games for one store: " + capacity);
+		}
+
+		this.empties = this.empties == null ? new int[capacity] : Arrays.copyOf(this.empties, capacity);
+		this.bits = this.bits == null ? new long[capacity * this.words] : Arrays.copyOf(this.bits, capacity * this.words);
+		this.history = this.history == null ? new byte[(int) HISTORY_BYTES] : Arrays.copyOf(this.history, (int) HISTORY_BYTES);
+		this.historyStart = this.historyStart == null ? new short[capacity] : Arrays.copyOf(this.historyStart, capacity);
+		this.historyDepth = this.historyDepth == null ? new short[capacity] : Arrays.copyOf(this.historyDepth, capacity);
+		this.live = this.live == null ? new boolean[capacity] : Arrays.copyOf(this.live, capacity);
+	}
+
+}
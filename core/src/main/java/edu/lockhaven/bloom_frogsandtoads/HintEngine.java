@@ -0,0 +1,252 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds a hint for the next move on a background thread.
+ * Every request replaces the one before it, so only the hint for the
+ *  newest position is ever delivered.
+ * Boards that fit in a {@link PackedBoard} are searched for a move that can
+ *  still win within a time limit. If the limit runs out, or the board is too
+ *  large to pack, the move that leaves the most legal moves is suggested.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class HintEngine {
+
+	//Time allowed for searching, kept below a 60 fps frame.
+	private final static long SEARCH_NANOS = 8_000_000L;
+
+	//Number of positions searched between checks of the clock.
+	private final static int CHECK_INTERVAL = 1024;
+
+	//Largest number of dead positions remembered between requests.
+	private final static int DEAD_LIMIT = 1 << 20;
+
+	/**
+	 * Receives hints once they are found.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called with the hint for the most recent request.
+		 * @param hint is the (row, column) of the suggested space, or null if no move can win.
+		 */
+		void onHint(int[] hint);
+
+	}
+
+	private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor();
+	private final Executor callback;
+	private final long debounceMillis;
+
+	private ScheduledFuture<?> pending;
+	private volatile int generation = 0;
+
+	//Positions known to never reach the goal, only used by the worker thread.
+	private final LongHashSet dead = new LongHashSet();
+	private int deadRows = 0;
+	private int deadColumns = 0;
+
+	private long goal;
+	private int rows;
+	private int columns;
+	private long deadline;
+	private int nodes;
+	private boolean expired;
+
+	/**
+	 * Creates a hint engine.
+	 * @param callback runs the listener, such as the UI thread.
+	 * @param debounceMillis is how long a request waits in case a newer one replaces it.
+	 */
+	public HintEngine(Executor callback, long debounceMillis) {
+		this.callback = callback;
+		this.debounceMillis = debounceMillis;
+	}
+
+	/**
+	 * Requests a hint for the current position of a game.
+	 * Must be called from the thread that changes the game.
+	 * @param game to find a hint for.
+	 * @param listener that receives the hint.
+	 */
+	public synchronized void request(FrogsAndToads game, Listener listener) {
+
+		this.cancel();
+		final int GENERATION = this.generation;
+
+		//Reads the published snapshot so the game can keep changing.
+		final Position POSITION = game.getSnapshot();
+
+		this.pending = this.worker.schedule(() -> {
+			final int ROWS = POSITION.getRowLength();
+			final int COLUMNS = POSITION.getColumnLength();
+			int[] hint = PackedBoard.fits(ROWS, COLUMNS)
+					? this.hint(PackedBoard.encode(POSITION), ROWS, COLUMNS)
+					: HintEngine.hint(POSITION.toGame());
+
+			//Drops the hint if a newer request was made while searching.
+			this.callback.execute(() -> {
+				if(GENERATION == this.generation) {
+					listener.onHint(hint);
+				}
+			});
+		}, this.debounceMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Cancels the current request.
+	 */
+	public synchronized void cancel() {
+		++this.generation;
+		if(this.pending != null) {
+			this.pending.cancel(true);
+			this.pending = null;
+		}
+	}
+
+	/**
+	 * Stops the background thread.
+	 */
+	public void shutdown() {
+		this.cancel();
+		this.worker.shutdownNow();
+	}
+
+	/**
+	 * Finds a hint for a packed position.
+	 * @param state is the packed position.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @return (row, column) of the suggested space, or null if no move can win.
+	 */
+	private int[] hint(long state, int rows, int columns) {
+
+		//Dead positions only carry over between requests on the same board.
+		if(rows != this.deadRows || columns != this.deadColumns || this.dead.size() > HintEngine.DEAD_LIMIT) {
+			this.dead.clear();
+			this.deadRows = rows;
+			this.deadColumns = columns;
+		}
+
+		this.goal = PackedBoard.goal(rows, columns);
+		this.rows = rows;
+		this.columns = columns;
+		this.deadline = System.nanoTime() + HintEngine.SEARCH_NANOS;
+		this.nodes = 0;
+		this.expired = false;
+
+		final int MOVES = PackedBoard.legalMoves(state, rows, columns);
+		int best = -1;
+		int bestMobility = -1;
+
+		for(int code = 0; code < Moves.COUNT; code++) {
+			if((MOVES & (1 << code)) == 0) {
+				continue;
+			}
+
+			long next = PackedBoard.apply(state, columns, code);
+
+			//Takes the first move that is proven to win.
+			if(!this.expired && this.canWin(next)) {
+				return HintEngine.cords(state, columns, code);
+			}
+
+			//Remembers the move with the most follow up moves in case time runs out.
+			int mobility = Integer.bitCount(PackedBoard.legalMoves(next, rows, columns));
+			if(!this.dead.contains(next) && mobility > bestMobility) {
+				best = code;
+				bestMobility = mobility;
+			}
+		}
+
+		//Every move was searched and none of them can win.
+		if(!this.expired || best == -1) {
+			return null;
+		}
+
+		return HintEngine.cords(state, columns, best);
+	}
+
+	/**
+	 * Returns true if the goal can be reached from a position.
+	 * Gives up once the time limit has passed, without marking anything dead.
+	 * @param state is the packed position.
+	 * @return if a winning sequence was found.
+	 */
+	private boolean canWin(long state) {
+
+		if(state == this.goal) {
+			return true;
+		}
+		if(this.dead.contains(state)) {
+			return false;
+		}
+
+		//Checks the clock and any cancellation every so often.
+		if(++this.nodes % HintEngine.CHECK_INTERVAL == 0
+				&& (System.nanoTime() > this.deadline || Thread.currentThread().isInterrupted())) {
+			this.expired = true;
+		}
+		if(this.expired) {
+			return false;
+		}
+
+		final int MOVES = PackedBoard.legalMoves(state, this.rows, this.columns);
+		for(int code = 0; code < Moves.COUNT; code++) {
+			if((MOVES & (1 << code)) != 0 && this.canWin(PackedBoard.apply(state, this.columns, code))) {
+				return true;
+			}
+		}
+
+		//Only a complete search proves that a position is dead.
+		if(!this.expired) {
+			this.dead.add(state);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finds a hint for a board that is too large to search.
+	 * Suggests the move that leaves the most legal moves afterwards.
+	 * @param game is a copy of the game that may be changed.
+	 * @return (row, column) of the suggested space, or null if there are no moves.
+	 */
+	private static int[] hint(FrogsAndToads game) {
+
+		int[] best = null;
+		int bestMobility = -1;
+
+		for(int[] move : game.getLegalMoves()) {
+			game.move(move[0], move[1]);
+			int mobility = game.over() ? Integer.MAX_VALUE : game.getLegalMoves().size();
+			game.undo();
+
+			if(mobility > bestMobility) {
+				best = move;
+				bestMobility = mobility;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Converts a move code to the (row, column) of the piece being moved.
+	 * @param state is the packed position.
+	 * @param columns is the horizontal length.
+	 * @param code of the move.
+	 * @return (row, column) of the piece.
+	 */
+	private static int[] cords(long state, int columns, int code) {
+		final int EMPTY = PackedBoard.emptyIndex(state);
+		return new int[]{EMPTY / columns + Moves.rowOffset(code), EMPTY % columns + Moves.columnOffset(code)};
+	}
+
+}
@@ -0,0 +1,143 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.Arrays;
+
+/**
+ * Set of packed positions.
+ * Stores the longs directly in an open addressed table instead of boxing them,
+ *  so a position costs 8 to 16 bytes instead of the 50 or more a HashSet uses.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public final class LongHashSet {
+
+	//Zero marks a free slot, so it is tracked separately.
+	private final static long FREE = 0;
+
+	private long[] table;
+	private boolean containsFree = false;
+	private int size = 0;
+
+	/**
+	 * Creates an empty set.
+	 */
+	public LongHashSet() {
+		this(1024);
+	}
+
+	/**
+	 * Creates an empty set.
+	 * @param capacity is the number of values expected.
+	 */
+	public LongHashSet(int capacity) {
+		int length = 16;
+		while(length < capacity * 2) {
+			length <<= 1;
+		}
+		this.table = new long[length];
+	}
+
+	/**
+	 * Retrieves the number of values in the set.
+	 * @return number of values.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns true if the value is in the set.
+	 * @param value to be checked.
+	 * @return if the value was added before.
+	 */
+	public boolean contains(long value) {
+
+		if(value == LongHashSet.FREE) {
+			return this.containsFree;
+		}
+
+		final int MASK = this.table.length - 1;
+		for(int i = LongHashSet.mix(value) & MASK; ; i = (i + 1) & MASK) {
+			if(this.table[i] == value) {
+				return true;
+			}
+			if(this.table[i] == LongHashSet.FREE) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Adds a value to the set.
+	 * @param value to be added.
+	 * @return true if the value was not already in the set.
+	 */
+	public boolean add(long value) {
+
+		if(value == LongHashSet.FREE) {
+			if(this.containsFree) {
+				return false;
+			}
+			this.containsFree = true;
+			++this.size;
+			return true;
+		}
+
+		//Keeps the table at most half full.
+		if(this.size * 2 >= this.table.length) {
+			this.grow();
+		}
+
+		final int MASK = this.table.length - 1;
+		for(int i = LongHashSet.mix(value) & MASK; ; i = (i + 1) & MASK) {
+			if(this.table[i] == value) {
+				return false;
+			}
+			if(this.table[i] == LongHashSet.FREE) {
+				this.table[i] = value;
+				++this.size;
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Removes every value from the set.
+	 */
+	public void clear() {
+		Arrays.fill(this.table, LongHashSet.FREE);
+		this.containsFree = false;
+		this.size = 0;
+	}
+
+	/**
+	 * Doubles the table and moves every value into it.
+	 */
+	private void grow() {
+
+		long[] old = this.table;
+		this.table = new long[old.length * 2];
+
+		final int MASK = this.table.length - 1;
+		for(long value : old) {
+			if(value != LongHashSet.FREE) {
+				int i = LongHashSet.mix(value) & MASK;
+				while(this.table[i] != LongHashSet.FREE) {
+					i = (i + 1) & MASK;
+				}
+				this.table[i] = value;
+			}
+		}
+	}
+
+	/**
+	 * Spreads the bits of a value so nearby positions land in different slots.
+	 * @param value to be mixed.
+	 * @return mixed hash.
+	 */
+	static int mix(long value) {
+		value *= 0x9E3779B97F4A7C15L;
+		return (int) (value ^ (value >>> 32));
+	}
+
+}
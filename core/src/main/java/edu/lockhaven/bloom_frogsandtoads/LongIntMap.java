@@ -0,0 +1,142 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.Arrays;
+
+/**
+ * Map from packed positions or position ids to ints.
+ * Uses the same open addressed table as {@link LongHashSet}, with the values
+ *  kept in a second array, so nothing is boxed.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public final class LongIntMap {
+
+	//Zero marks a free slot, so it is tracked separately.
+	private final static long FREE = 0;
+
+	private long[] keys;
+	private int[] values;
+	private boolean containsFree = false;
+	private int freeValue;
+	private int size = 0;
+
+	/**
+	 * Creates an empty map.
+	 */
+	public LongIntMap() {
+		this(1024);
+	}
+
+	/**
+	 * Creates an empty map.
+	 * @param capacity is the number of keys expected.
+	 */
+	public LongIntMap(int capacity) {
+		int length = 16;
+		while(length < capacity * 2) {
+			length <<= 1;
+		}
+		this.keys = new long[length];
+		this.values = new int[length];
+	}
+
+	/**
+	 * Retrieves the number of keys in the map.
+	 * @return number of keys.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Retrieves the value of a key.
+	 * @param key to look up.
+	 * @param missing is returned if the key is not in the map.
+	 * @return value of the key, or missing.
+	 */
+	public int get(long key, int missing) {
+
+		if(key == LongIntMap.FREE) {
+			return this.containsFree ? this.freeValue : missing;
+		}
+
+		final int MASK = this.keys.length - 1;
+		for(int i = LongHashSet.mix(key) & MASK; ; i = (i + 1) & MASK) {
+			if(this.keys[i] == key) {
+				return this.values[i];
+			}
+			if(this.keys[i] == LongIntMap.FREE) {
+				return missing;
+			}
+		}
+	}
+
+	/**
+	 * Sets the value of a key.
+	 * @param key to set.
+	 * @param value of the key.
+	 */
+	public void put(long key, int value) {
+
+		if(key == LongIntMap.FREE) {
+			if(!this.containsFree) {
+				this.containsFree = true;
+				++this.size;
+			}
+			this.freeValue = value;
+			return;
+		}
+
+		//Keeps the table at most half full.
+		if(this.size * 2 >= this.keys.length) {
+			this.grow();
+		}
+
+		final int MASK = this.keys.length - 1;
+		for(int i = LongHashSet.mix(key) & MASK; ; i = (i + 1) & MASK) {
+			if(this.keys[i] == key) {
+				this.values[i] = value;
+				return;
+			}
+			if(this.keys[i] == LongIntMap.FREE) {
+				this.keys[i] = key;
+				this.values[i] = value;
+				++this.size;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes every key from the map.
+	 */
+	public void clear() {
+		Arrays.fill(this.keys, LongIntMap.FREE);
+		this.containsFree = false;
+		this.size = 0;
+	}
+
+	/**
+	 * Doubles the table and moves every key into it.
+	 */
+	private void grow() {
+
+		long[] oldKeys = this.keys;
+		int[] oldValues = this.values;
+		this.keys = new long[oldKeys.length * 2];
+		this.values = new int[oldValues.length * 2];
+
+		final int MASK = this.keys.length - 1;
+		for(int j = 0; j < oldKeys.length; j++) {
+			if(oldKeys[j] != LongIntMap.FREE) {
+				int i = LongHashSet.mix(oldKeys[j]) & MASK;
+				while(this.keys[i] != LongIntMap.FREE) {
+					i = (i + 1) & MASK;
+				}
+				this.keys[i] = oldKeys[j];
+				this.values[i] = oldValues[j];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,302 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and timers for the game and the UI.
+ * Everything is off until {@link #setEnabled(boolean)} turns it on. While
+ *  off, each measurement is a single check of a flag, with no clock reads
+ *  and no writes to shared memory.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public final class Metrics {
+
+	private static volatile boolean enabled = false;
+	private final static List<Metric> REGISTRY = new ArrayList<>();
+
+	//Game measurements.
+	public final static Timer GAME_MOVE = Metrics.timer("game.move");
+	public final static Timer GAME_UNDO = Metrics.timer("game.undo");
+	public final static Timer GAME_LEGAL_MOVES = Metrics.timer("game.legal_moves");
+	public final static Timer GAME_OVER = Metrics.timer("game.over");
+	public final static Gauge GAME_UNDO_DEPTH = Metrics.gauge("game.undo_depth");
+
+	//UI measurements.
+	public final static Timer UI_TOGGLE_SPACE = Metrics.timer("ui.toggle_space");
+	public final static Timer UI_DRAW = Metrics.timer("ui.draw");
+
+	private Metrics() {
+	}
+
+	/**
+	 * Returns true if measurements are being taken.
+	 * @return if metrics are on.
+	 */
+	public static boolean isEnabled() {
+		return Metrics.enabled;
+	}
+
+	/**
+	 * Turns measurements on or off.
+	 * @param enabled is true to start measuring.
+	 */
+	public static void setEnabled(boolean enabled) {
+		Metrics.enabled = enabled;
+	}
+
+	/**
+	 * Starts timing something.
+	 * @return start time to pass to {@link Timer#stop(long)}, or 0 if metrics are off.
+	 */
+	public static long start() {
+		return Metrics.enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Clears every measurement.
+	 */
+	public static void reset() {
+		synchronized(Metrics.REGISTRY) {
+			for(Metric metric : Metrics.REGISTRY) {
+				metric.reset();
+			}
+		}
+	}
+
+	/**
+	 * Writes every measurement as text, one metric per line.
+	 * @param out receives the measurements.
+	 * @throws IOException if the text cannot be written.
+	 */
+	public static void export(Writer out) throws IOException {
+		out.write("# name type count total max p50 p99\n");
+		synchronized(Metrics.REGISTRY) {
+			for(Metric metric : Metrics.REGISTRY) {
+				out.write(metric.describe());
+				out.write('\n');
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes every measurement to a file, replacing what was there.
+	 * @param file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public static void export(File file) throws IOException {
+		try(Writer out = new FileWriter(file)) {
+			Metrics.export(out);
+		}
+	}
+
+	/**
+	 * Registers a new timer.
+	 * @param name of the timer.
+	 * @return the timer.
+	 */
+	public static Timer timer(String name) {
+		return Metrics.register(new Timer(name));
+	}
+
+	/**
+	 * Registers a new histogram.
+	 * @param name of the histogram.
+	 * @return the histogram.
+	 */
+	public static Histogram histogram(String name) {
+		return Metrics.register(new Histogram(name, "histogram"));
+	}
+
+	/**
+	 * Registers a new gauge.
+	 * @param name of the gauge.
+	 * @return the gauge.
+	 */
+	public static Gauge gauge(String name) {
+		return Metrics.register(new Gauge(name));
+	}
+
+	/**
+	 * Adds a metric to the registry.
+	 * @param metric to add.
+	 * @param <M> is the type of metric.
+	 * @return the metric.
+	 */
+	private static <M extends Metric> M register(M metric) {
+		synchronized(Metrics.REGISTRY) {
+			Metrics.REGISTRY.add(metric);
+		}
+		return metric;
+	}
+
+	/**
+	 * A named measurement.
+	 */
+	private interface Metric {
+
+		/**
+		 * Clears the measurement.
+		 */
+		void reset();
+
+		/**
+		 * Describes the measurement as one line of text.
+		 * @return description.
+		 */
+		String describe();
+
+	}
+
+	/**
+	 * Distribution of values in power of two buckets.
+	 */
+	public static class Histogram implements Metric {
+
+		private final String name;
+		private final String type;
+		private final AtomicLongArray buckets = new AtomicLongArray(65);
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong total = new AtomicLong();
+		private final AtomicLong max = new AtomicLong();
+
+		private Histogram(String name, String type) {
+			this.name = name;
+			this.type = type;
+		}
+
+		/**
+		 * Records a value if metrics are on.
+		 * @param value to record, which should not be negative.
+		 */
+		public void record(long value) {
+			if(!Metrics.enabled) {
+				return;
+			}
+
+			this.buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(value, 0)));
+			this.count.incrementAndGet();
+			this.total.addAndGet(value);
+
+			long current;
+			while(value > (current = this.max.get()) && !this.max.compareAndSet(current, value)) {
+				//Tries again until the largest value is stored.
+			}
+		}
+
+		/**
+		 * Retrieves the number of values recorded.
+		 * @return count of values.
+		 */
+		public long getCount() {
+			return this.count.get();
+		}
+
+		/**
+		 * Estimates a percentile from the buckets.
+		 * @param fraction is the percentile between 0 and 1.
+		 * @return upper bound of the bucket holding the percentile.
+		 */
+		public long percentile(double fraction) {
+			final long TARGET = (long) Math.ceil(fraction * this.count.get());
+			long seen = 0;
+			for(int i = 0; i < this.buckets.length(); i++) {
+				seen += this.buckets.get(i);
+				if(seen >= TARGET && seen > 0) {
+					return i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+				}
+			}
+			return 0;
+		}
+
+		@Override
+		public void reset() {
+			for(int i = 0; i < this.buckets.length(); i++) {
+				this.buckets.set(i, 0);
+			}
+			this.count.set(0);
+			this.total.set(0);
+			this.max.set(0);
+		}
+
+		@Override
+		public String describe() {
+			return this.name + " " + this.type + " " + this.count.get() + " " + this.total.get()
+					+ " " + this.max.get() + " " + this.percentile(0.50) + " " + this.percentile(0.99);
+		}
+
+	}
+
+	/**
+	 * Histogram of durations in nanoseconds.
+	 */
+	public static class Timer extends Histogram {
+
+		private Timer(String name) {
+			super(name, "timer");
+		}
+
+		/**
+		 * Records the time since a start time.
+		 * @param start is the value returned by {@link Metrics#start()}.
+		 */
+		public void stop(long start) {
+			if(start != 0) {
+				this.record(System.nanoTime() - start);
+			}
+		}
+
+	}
+
+	/**
+	 * Most recent value of something.
+	 */
+	public static class Gauge implements Metric {
+
+		private final String name;
+		private final AtomicLong value = new AtomicLong();
+		private final AtomicLong max = new AtomicLong();
+
+		private Gauge(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Sets the value if metrics are on.
+		 * @param value is the new value.
+		 */
+		public void set(long value) {
+			if(!Metrics.enabled) {
+				return;
+			}
+
+			this.value.set(value);
+			long current;
+			while(value > (current = this.max.get()) && !this.max.compareAndSet(current, value)) {
+				//Tries again until the largest value is stored.
+			}
+		}
+
+		@Override
+		public void reset() {
+			this.value.set(0);
+			this.max.set(0);
+		}
+
+		@Override
+		public String describe() {
+			return this.name + " gauge 1 " + this.value.get() + " " + this.max.get() + " "
+					+ this.value.get() + " " + this.value.get();
+		}
+
+	}
+
+}
@@ -0,0 +1,113 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+/**
+ * Packed move codes.
+ * A move is stored relative to the empty space as a direction and a distance,
+ *  so every move fits in 3 bits: the direction in the high two bits and
+ *  whether the piece jumps in the low bit.
+ * The directions are listed in the same order that
+ *  {@link FrogsAndToads#getLegalMoves()} checks them.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public final class Moves {
+
+	//A toad below the empty space moving up.
+	public final static int DOWN = 0;
+
+	//A toad right of the empty space moving left.
+	public final static int RIGHT = 1;
+
+	//A frog above the empty space moving down.
+	public final static int UP = 2;
+
+	//A frog left of the empty space moving right.
+	public final static int LEFT = 3;
+
+	//Number of distinct move codes.
+	public final static int COUNT = 8;
+
+	//Offsets of each direction from the empty space.
+	private final static int[] ROW_OFFSETS = {1, 0, -1, 0};
+	private final static int[] COLUMN_OFFSETS = {0, 1, 0, -1};
+
+	private Moves() {
+	}
+
+	/**
+	 * Packs a direction and distance into a move code.
+	 * @param direction is one of DOWN, RIGHT, UP or LEFT.
+	 * @param jump is true if the piece hops over another piece.
+	 * @return move code.
+	 */
+	public static byte code(int direction, boolean jump) {
+		return (byte) ((direction << 1) | (jump ? 1 : 0));
+	}
+
+	/**
+	 * Retrieves the direction of a move code.
+	 * @param code of the move.
+	 * @return direction of the move.
+	 */
+	public static int direction(int code) {
+		return (code >> 1) & 3;
+	}
+
+	/**
+	 * Returns true if the move code is a jump.
+	 * @param code of the move.
+	 * @return if the piece hops over another piece.
+	 */
+	public static boolean isJump(int code) {
+		return (code & 1) != 0;
+	}
+
+	/**
+	 * Retrieves the number of spaces the piece is from the empty space.
+	 * @param code of the move.
+	 * @return 1 for a slide or 2 for a jump.
+	 */
+	public static int distance(int code) {
+		return (code & 1) + 1;
+	}
+
+	/**
+	 * Retrieves the row offset of the moving piece from the empty space.
+	 * @param code of the move.
+	 * @return row offset.
+	 */
+	public static int rowOffset(int code) {
+		return Moves.ROW_OFFSETS[Moves.direction(code)] * Moves.distance(code);
+	}
+
+	/**
+	 * Retrieves the column offset of the moving piece from the empty space.
+	 * @param code of the move.
+	 * @return column offset.
+	 */
+	public static int columnOffset(int code) {
+		return Moves.COLUMN_OFFSETS[Moves.direction(code)] * Moves.distance(code);
+	}
+
+	/**
+	 * Finds the move code of a piece at (row, column) moving into the empty space.
+	 * @param emptyRow is the row of the empty space.
+	 * @param emptyColumn is the column of the empty space.
+	 * @param row of the piece being moved.
+	 * @param column of the piece being moved.
+	 * @return move code, or -1 if the piece is not in line with the empty space.
+	 */
+	public static int codeOf(int emptyRow, int emptyColumn, int row, int column) {
+
+		//Checks each code for a matching offset.
+		for(int code = 0; code < Moves.COUNT; code++) {
+			if(emptyRow + Moves.rowOffset(code) == row
+					&& emptyColumn + Moves.columnOffset(code) == column) {
+				return code;
+			}
+		}
+
+		return -1;
+	}
+
+}
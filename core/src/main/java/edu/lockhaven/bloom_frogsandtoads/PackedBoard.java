@@ -0,0 +1,280 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.Arrays;
+
+/**
+ * Frogs and toads positions packed into a single long.
+ * The lowest 6 bits hold the index of the empty space and every cell
+ *  after that holds one bit: 1 for a frog and 0 for a toad.
+ * Cells are indexed row by row, so the board can have at most 58 cells.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public final class PackedBoard {
+
+	//Largest number of cells that fit beside the empty index.
+	public final static int MAX_CELLS = 58;
+
+	private final static int EMPTY_BITS = 6;
+	private final static long EMPTY_MASK = (1L << PackedBoard.EMPTY_BITS) - 1;
+
+	private PackedBoard() {
+	}
+
+	/**
+	 * Returns true if a board of the given size can be packed.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @return if the board fits in a long.
+	 */
+	public static boolean fits(int rows, int columns) {
+		return rows * columns <= PackedBoard.MAX_CELLS;
+	}
+
+	/**
+	 * Packs the current position of a game.
+	 * @param game to be packed.
+	 * @return packed position.
+	 */
+	public static long encode(FrogsAndToads game) {
+
+		final int ROWS = game.getRowLength();
+		final int COLUMNS = game.getColumnLength();
+
+		//Checks that the board is small enough.
+		if(!PackedBoard.fits(ROWS, COLUMNS)) {
+			throw new IllegalArgumentException("Board is too large to pack: " + ROWS + "x" + COLUMNS);
+		}
+
+		//Reads the game directly, so searches can pack every position without a snapshot.
+		long state = game.getEmptySpaceRow() * COLUMNS + game.getEmptySpaceColumn();
+		for(int r = 0; r < ROWS; r++) {
+			for(int c = 0; c < COLUMNS; c++) {
+				if(game.frogAt(r, c)) {
+					state |= 1L << (PackedBoard.EMPTY_BITS + r * COLUMNS + c);
+				}
+			}
+		}
+
+		return state;
+	}
+
+	/**
+	 * Packs a snapshot of a game.
+	 * @param position to be packed.
+	 * @return packed position.
+	 */
+	public static long encode(Position position) {
+
+		final int ROWS = position.getRowLength();
+		final int COLUMNS = position.getColumnLength();
+
+		//Checks that the board is small enough.
+		if(!PackedBoard.fits(ROWS, COLUMNS)) {
+			throw new IllegalArgumentException("Board is too large to pack: " + ROWS + "x" + COLUMNS);
+		}
+
+		long state = position.getEmptySpaceRow() * COLUMNS + position.getEmptySpaceColumn();
+		for(int r = 0; r < ROWS; r++) {
+			for(int c = 0; c < COLUMNS; c++) {
+				if(position.frogAt(r, c)) {
+					state |= 1L << (PackedBoard.EMPTY_BITS + r * COLUMNS + c);
+				}
+			}
+		}
+
+		return state;
+	}
+
+	/**
+	 * Retrieves the packed starting position for a board.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @return packed starting position.
+	 */
+	public static long start(int rows, int columns) {
+		return PackedBoard.encode(new FrogsAndToads(rows, columns));
+	}
+
+	/**
+	 * Retrieves the packed winning position for a board.
+	 * The winning position is the starting position with every frog and toad swapped.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @return packed winning position.
+	 */
+	public static long goal(int rows, int columns) {
+		long start = PackedBoard.start(rows, columns);
+		long cells = (1L << (rows * columns)) - 1;
+		long pieces = (cells << PackedBoard.EMPTY_BITS) & ~PackedBoard.bit(PackedBoard.emptyIndex(start));
+		return start ^ pieces;
+	}
+
+	/**
+	 * Retrieves the cell index of the empty space.
+	 * @param state is the packed position.
+	 * @return cell index of the empty space.
+	 */
+	public static int emptyIndex(long state) {
+		return (int) (state & PackedBoard.EMPTY_MASK);
+	}
+
+	/**
+	 * Returns true if there is a frog at the cell index.
+	 * @param state is the packed position.
+	 * @param index of the cell.
+	 * @return if the cell contains a frog.
+	 */
+	public static boolean frogAt(long state, int index) {
+		return (state & PackedBoard.bit(index)) != 0;
+	}
+
+	/**
+	 * Returns true if there is a toad at the cell index.
+	 * @param state is the packed position.
+	 * @param index of the cell.
+	 * @return if the cell contains a toad.
+	 */
+	public static boolean toadAt(long state, int index) {
+		return index != PackedBoard.emptyIndex(state) && (state & PackedBoard.bit(index)) == 0;
+	}
+
+	/**
+	 * Finds the legal moves of a position.
+	 * Follows the same rules as {@link FrogsAndToads#getLegalMoves()}.
+	 * @param state is the packed position.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @return bit mask with one bit set for every legal move code.
+	 */
+	public static int legalMoves(long state, int rows, int columns) {
+
+		final int EMPTY = PackedBoard.emptyIndex(state);
+		final int ROW = EMPTY / columns;
+		final int COLUMN = EMPTY % columns;
+
+		int moves = 0;
+
+		//Checks below the empty space for a toad.
+		if(ROW + 1 < rows && PackedBoard.toadAt(state, EMPTY + columns)) {
+			moves |= 1 << Moves.code(Moves.DOWN, false);
+		} else if(ROW + 2 < rows && PackedBoard.toadAt(state, EMPTY + 2 * columns)) {
+			moves |= 1 << Moves.code(Moves.DOWN, true);
+		}
+
+		//Checks right of the empty space for a toad.
+		if(COLUMN + 1 < columns && PackedBoard.toadAt(state, EMPTY + 1)) {
+			moves |= 1 << Moves.code(Moves.RIGHT, false);
+		} else if(COLUMN + 2 < columns && PackedBoard.toadAt(state, EMPTY + 2)) {
+			moves |= 1 << Moves.code(Moves.RIGHT, true);
+		}
+
+		//Checks above the empty space for a frog.
+		if(ROW - 1 >= 0 && PackedBoard.frogAt(state, EMPTY - columns)) {
+			moves |= 1 << Moves.code(Moves.UP, false);
+		} else if(ROW - 2 >= 0 && PackedBoard.frogAt(state, EMPTY - 2 * columns)) {
+			moves |= 1 << Moves.code(Moves.UP, true);
+		}
+
+		//Checks left of the empty space for a frog.
+		if(COLUMN - 1 >= 0 && PackedBoard.frogAt(state, EMPTY - 1)) {
+			moves |= 1 << Moves.code(Moves.LEFT, false);
+		} else if(COLUMN - 2 >= 0 && PackedBoard.frogAt(state, EMPTY - 2)) {
+			moves |= 1 << Moves.code(Moves.LEFT, true);
+		}
+
+		return moves;
+	}
+
+	/**
+	 * Applies a move to a position.
+	 * The move is assumed to be legal.
+	 * @param state is the packed position.
+	 * @param columns is the horizontal length.
+	 * @param code of the move.
+	 * @return packed position after the move.
+	 */
+	public static long apply(long state, int columns, int code) {
+
+		final int EMPTY = PackedBoard.emptyIndex(state);
+		final int FROM = EMPTY + Moves.rowOffset(code) * columns + Moves.columnOffset(code);
+
+		//Moves the piece's bit into the empty space and clears its old cell.
+		long piece = (state >>> (PackedBoard.EMPTY_BITS + FROM)) & 1;
+		state &= ~PackedBoard.bit(FROM);
+		state |= piece << (PackedBoard.EMPTY_BITS + EMPTY);
+
+		return (state & ~PackedBoard.EMPTY_MASK) | FROM;
+	}
+
+	/**
+	 * Returns true if the pieces can no longer all reach their winning side.
+	 * Frogs only move down and right, so frogs below and right of a staircase
+	 *  through the board stay there. If more of them are there than the winning
+	 *  position has, some frog can never reach a winning cell. Toads above and
+	 *  left of a staircase are checked the same way. The staircase with the
+	 *  most extra pieces is found one row at a time.
+	 * A position that passes can still be lost, but one that fails always is.
+	 * @param state is the packed position.
+	 * @param goal is the packed winning position.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @return if the position can never be won.
+	 */
+	public static boolean stranded(long state, long goal, int rows, int columns) {
+
+		final long CELLS = (1L << (rows * columns)) - 1;
+		final long FROGS = state >>> PackedBoard.EMPTY_BITS;
+		final long GOAL_FROGS = goal >>> PackedBoard.EMPTY_BITS;
+		final long TOADS = ~FROGS & CELLS & ~(1L << PackedBoard.emptyIndex(state));
+		final long GOAL_TOADS = ~GOAL_FROGS & CELLS & ~(1L << PackedBoard.emptyIndex(goal));
+		final long ROW = (1L << columns) - 1;
+
+		//Most extra pieces for each place the staircase could cross the row.
+		int[] best = new int[columns + 1];
+
+		//Frogs from column t to the end of each row, with t never shrinking further up.
+		for(int r = rows - 1; r >= 0; r--) {
+			final long ROW_FROGS = (FROGS >>> (r * columns)) & ROW;
+			final long ROW_GOAL = (GOAL_FROGS >>> (r * columns)) & ROW;
+
+			int most = Integer.MIN_VALUE;
+			for(int t = 0; t <= columns; t++) {
+				most = Math.max(most, best[t]);
+				best[t] = most + Long.bitCount(ROW_FROGS >>> t) - Long.bitCount(ROW_GOAL >>> t);
+				if(best[t] > 0) {
+					return true;
+				}
+			}
+		}
+
+		//Toads from the start of each row up to column t, with t never growing further down.
+		Arrays.fill(best, 0);
+		for(int r = 0; r < rows; r++) {
+			final long ROW_TOADS = (TOADS >>> (r * columns)) & ROW;
+			final long ROW_GOAL = (GOAL_TOADS >>> (r * columns)) & ROW;
+
+			int most = Integer.MIN_VALUE;
+			for(int t = columns; t >= 0; t--) {
+				final long BEFORE = (1L << t) - 1;
+				most = Math.max(most, best[t]);
+				best[t] = most + Long.bitCount(ROW_TOADS & BEFORE) - Long.bitCount(ROW_GOAL & BEFORE);
+				if(best[t] > 0) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Retrieves the bit of a cell index.
+	 * @param index of the cell.
+	 * @return bit of the cell.
+	 */
+	private static long bit(int index) {
+		return 1L << (PackedBoard.EMPTY_BITS + index);
+	}
+
+}
@@ -0,0 +1,285 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Estimates how likely each move is to win by playing random games.
+ * Every thread plays on its own copy of the position and only updates
+ *  primitive counters, so a playout does not allocate anything.
+ * Each thread also has its own random numbers, so an estimator made with
+ *  a seed plays the same games every time it is given the same position.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class PlayoutEstimator {
+
+	//Z score of a 95% confidence interval.
+	private final static double Z = 1.96;
+
+	//Number of playouts between checks of the clock.
+	private final static int CHECK_INTERVAL = 64;
+
+	/**
+	 * Win rate of a single move.
+	 */
+	public static class Estimate {
+
+		private final int row;
+		private final int column;
+		private final long playouts;
+		private final long wins;
+
+		private Estimate(int row, int column, long playouts, long wins) {
+			this.row = row;
+			this.column = column;
+			this.playouts = playouts;
+			this.wins = wins;
+		}
+
+		/**
+		 * Retrieves the row of the piece being moved.
+		 * @return row of the move.
+		 */
+		public int getRow() {
+			return this.row;
+		}
+
+		/**
+		 * Retrieves the column of the piece being moved.
+		 * @return column of the move.
+		 */
+		public int getColumn() {
+			return this.column;
+		}
+
+		/**
+		 * Retrieves the number of games played after the move.
+		 * @return number of playouts.
+		 */
+		public long getPlayouts() {
+			return this.playouts;
+		}
+
+		/**
+		 * Retrieves the number of games won after the move.
+		 * @return number of wins.
+		 */
+		public long getWins() {
+			return this.wins;
+		}
+
+		/**
+		 * Retrieves the fraction of games won after the move.
+		 * @return win rate.
+		 */
+		public double getWinRate() {
+			return this.playouts == 0 ? 0 : (double) this.wins / this.playouts;
+		}
+
+		/**
+		 * Retrieves the lower bound of the 95% Wilson score interval of the win rate.
+		 * @return lowest likely win rate.
+		 */
+		public double getLowerBound() {
+			return this.bound(-1);
+		}
+
+		/**
+		 * Retrieves the upper bound of the 95% Wilson score interval of the win rate.
+		 * @return highest likely win rate.
+		 */
+		public double getUpperBound() {
+			return this.bound(1);
+		}
+
+		/**
+		 * Calculates one side of the Wilson score interval.
+		 * @param sign is -1 for the lower bound or 1 for the upper bound.
+		 * @return bound of the win rate.
+		 */
+		private double bound(int sign) {
+
+			if(this.playouts == 0) {
+				return sign < 0 ? 0 : 1;
+			}
+
+			final double N = this.playouts;
+			final double P = this.getWinRate();
+			final double Z2 = PlayoutEstimator.Z * PlayoutEstimator.Z;
+
+			double center = P + Z2 / (2 * N);
+			double spread = PlayoutEstimator.Z * Math.sqrt(P * (1 - P) / N + Z2 / (4 * N * N));
+			return Math.max(0, Math.min(1, (center + sign * spread) / (1 + Z2 / N)));
+		}
+
+		@Override
+		public String toString() {
+			return String.format("(%d, %d) %.4f [%.4f, %.4f] of %d",
+					this.row, this.column, this.getWinRate(),
+					this.getLowerBound(), this.getUpperBound(), this.playouts);
+		}
+
+	}
+
+	private final ExecutorService pool;
+	private final int threads;
+	private final Random seeds;
+
+	/**
+	 * Creates an estimator that uses every core.
+	 */
+	public PlayoutEstimator() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an estimator.
+	 * @param threads is the number of games played at once.
+	 */
+	public PlayoutEstimator(int threads) {
+		this(threads, new Random());
+	}
+
+	/**
+	 * Creates an estimator that plays the same random games each run.
+	 * @param threads is the number of games played at once.
+	 * @param seed of the random moves.
+	 */
+	public PlayoutEstimator(int threads, long seed) {
+		this(threads, new Random(seed));
+	}
+
+	/**
+	 * Creates an estimator.
+	 * @param threads is the number of games played at once.
+	 * @param seeds gives the seed of each thread's random moves.
+	 */
+	private PlayoutEstimator(int threads, Random seeds) {
+		this.threads = threads;
+		this.seeds = seeds;
+		this.pool = Executors.newFixedThreadPool(threads);
+	}
+
+	/**
+	 * Plays random games after every legal move of a position.
+	 * @param game is the position to estimate, which is not changed.
+	 * @param budgetMillis is how long to keep playing.
+	 * @return estimate of every legal move, in the order of {@link Moves}.
+	 * @throws InterruptedException if interrupted while waiting for the threads.
+	 */
+	public List<Estimate> estimate(FrogsAndToads game, long budgetMillis) throws InterruptedException {
+
+		//Collects the candidate moves of the position.
+		final int LEGAL = game.getLegalMoveCodes();
+		final byte[] CANDIDATES = new byte[Integer.bitCount(LEGAL)];
+		for(int code = 0, i = 0; code < Moves.COUNT; code++) {
+			if((LEGAL & (1 << code)) != 0) {
+				CANDIDATES[i++] = (byte) code;
+			}
+		}
+
+		final FrogsAndToads ROOT = new FrogsAndToads(game);
+		final long DEADLINE = System.nanoTime() + budgetMillis * 1_000_000L;
+
+		//Starts one worker per thread, each with its own copy of the position.
+		List<Future<long[]>> futures = new ArrayList<>();
+		for(int t = 0; t < this.threads && CANDIDATES.length > 0; t++) {
+			final int OFFSET = t;
+			final Random RANDOM = new Random(this.seeds.nextLong());
+			Callable<long[]> worker = () -> PlayoutEstimator.play(ROOT, CANDIDATES, OFFSET, RANDOM, DEADLINE);
+			futures.add(this.pool.submit(worker));
+		}
+
+		//Adds up the counters of every worker.
+		long[] totals = new long[CANDIDATES.length * 2];
+		for(Future<long[]> future : futures) {
+			try {
+				long[] counts = future.get();
+				for(int i = 0; i < totals.length; i++) {
+					totals[i] += counts[i];
+				}
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		List<Estimate> estimates = new ArrayList<>();
+		for(int i = 0; i < CANDIDATES.length; i++) {
+			estimates.add(new Estimate(
+					game.getEmptySpaceRow() + Moves.rowOffset(CANDIDATES[i]),
+					game.getEmptySpaceColumn() + Moves.columnOffset(CANDIDATES[i]),
+					totals[i * 2], totals[i * 2 + 1]));
+		}
+
+		return estimates;
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	public void shutdown() {
+		this.pool.shutdownNow();
+	}
+
+	/**
+	 * Plays games on one thread until the deadline.
+	 * Candidates are taken in turn so each gets a similar number of games.
+	 * @param root is the position to play from, which is only read.
+	 * @param candidates are the move codes to estimate.
+	 * @param offset is the first candidate this thread plays.
+	 * @param random picks the moves, and is only used by this thread.
+	 * @param deadline is the System.nanoTime() to stop at.
+	 * @return playouts and wins of every candidate, one after the other.
+	 */
+	private static long[] play(FrogsAndToads root, byte[] candidates, int offset, Random random, long deadline) {
+
+		final FrogsAndToads GAME = new FrogsAndToads(root);
+		long[] counts = new long[candidates.length * 2];
+
+		for(int played = 0; ; played++) {
+
+			//Checks the clock every so often.
+			if(played % PlayoutEstimator.CHECK_INTERVAL == 0
+					&& (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted())) {
+				return counts;
+			}
+
+			final int CANDIDATE = (offset + played) % candidates.length;
+			GAME.copyFrom(root);
+			GAME.move(candidates[CANDIDATE], false);
+
+			//Makes random legal moves until none are left.
+			int legal = GAME.getLegalMoveCodes();
+			while(legal != 0) {
+				GAME.move(PlayoutEstimator.pick(legal, random.nextInt(Integer.bitCount(legal))), false);
+				legal = GAME.getLegalMoveCodes();
+			}
+
+			++counts[CANDIDATE * 2];
+			if(GAME.over()) {
+				++counts[CANDIDATE * 2 + 1];
+			}
+		}
+	}
+
+	/**
+	 * Picks one of the set bits of a mask.
+	 * @param mask of legal move codes.
+	 * @param index of the set bit to pick.
+	 * @return move code of the set bit.
+	 */
+	private static byte pick(int mask, int index) {
+		for(int i = 0; i < index; i++) {
+			mask &= mask - 1;
+		}
+		return (byte) Integer.numberOfTrailingZeros(mask);
+	}
+
+}
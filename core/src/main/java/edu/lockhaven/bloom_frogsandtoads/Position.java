@@ -0,0 +1,247 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+/**
+ * Immutable snapshot of a frogs and toads board.
+ * A move returns a new position that shares every unchanged row with the
+ *  position it came from, so only the one or two rows the move touches are
+ *  copied. Positions are never changed after they are built, so any thread
+ *  can read them without locking.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public final class Position {
+
+	private final char[][] grid;
+	private final int emptyRow;
+	private final int emptyColumn;
+
+	/**
+	 * Creates a position from rows that will never be changed.
+	 * @param grid is the rows of the board.
+	 * @param emptyRow is the row of the empty space.
+	 * @param emptyColumn is the column of the empty space.
+	 */
+	private Position(char[][] grid, int emptyRow, int emptyColumn) {
+		this.grid = grid;
+		this.emptyRow = emptyRow;
+		this.emptyColumn = emptyColumn;
+	}
+
+	/**
+	 * Takes a snapshot of a game.
+	 * @param game to be copied.
+	 * @return position with the same board.
+	 */
+	public static Position of(FrogsAndToads game) {
+
+		char[][] grid = new char[game.getRowLength()][game.getColumnLength()];
+		for(int r = 0; r < grid.length; r++) {
+			for(int c = 0; c < grid[r].length; c++) {
+				if(game.frogAt(r, c)) {
+					grid[r][c] = FrogsAndToads.FROG_SPACE;
+				} else if(game.toadAt(r, c)) {
+					grid[r][c] = FrogsAndToads.TOAD_SPACE;
+				} else {
+					grid[r][c] = FrogsAndToads.EMPTY_SPACE;
+				}
+			}
+		}
+
+		return new Position(grid, game.getEmptySpaceRow(), game.getEmptySpaceColumn());
+	}
+
+	/**
+	 * Retrieves the number of rows within the game space.
+	 * @return rows length
+	 */
+	public int getRowLength() {
+		return this.grid.length;
+	}
+
+	/**
+	 * Retrieves the number of columns within the game space.
+	 * @return column length
+	 */
+	public int getColumnLength() {
+		return this.grid[0].length;
+	}
+
+	/**
+	 * Retrieves the row of the empty space.
+	 * @return empty space row
+	 */
+	public int getEmptySpaceRow() {
+		return this.emptyRow;
+	}
+
+	/**
+	 * Retrieves the column of the empty space.
+	 * @return empty space column
+	 */
+	public int getEmptySpaceColumn() {
+		return this.emptyColumn;
+	}
+
+	/**
+	 * Returns true if there is a frog at (row, column).
+	 * @param row of the cell.
+	 * @param column of the cell.
+	 * @return if the cell contains a frog.
+	 */
+	public boolean frogAt(int row, int column) {
+		return this.at(row, column) == FrogsAndToads.FROG_SPACE;
+	}
+
+	/**
+	 * Returns true if there is a toad at (row, column).
+	 * @param row of the cell.
+	 * @param column of the cell.
+	 * @return if the cell contains a toad.
+	 */
+	public boolean toadAt(int row, int column) {
+		return this.at(row, column) == FrogsAndToads.TOAD_SPACE;
+	}
+
+	/**
+	 * Returns true if the empty space is at (row, column).
+	 * @param row of the cell.
+	 * @param column of the cell.
+	 * @return if the cell contains the empty space.
+	 */
+	public boolean emptyAt(int row, int column) {
+		return this.at(row, column) == FrogsAndToads.EMPTY_SPACE;
+	}
+
+	/**
+	 * Returns the legal moves of the position.
+	 * Follows the same rules as {@link FrogsAndToads#getLegalMoves()}.
+	 * @return bit mask with one bit set for every legal move code.
+	 * @see Moves
+	 */
+	public int getLegalMoveCodes() {
+
+		int codes = 0;
+
+		//Toads below or right of the empty space, frogs above or left of it.
+		for(int direction = 0; direction < 4; direction++) {
+			final byte SLIDE = Moves.code(direction, false);
+			final byte JUMP = Moves.code(direction, true);
+			final boolean TOAD = direction == Moves.DOWN || direction == Moves.RIGHT;
+
+			if(this.pieceAt(SLIDE, TOAD)) {
+				codes |= 1 << SLIDE;
+			} else if(this.pieceAt(JUMP, TOAD)) {
+				codes |= 1 << JUMP;
+			}
+		}
+
+		return codes;
+	}
+
+	/**
+	 * Returns true if the frogs and toads have been swapped from the starting position.
+	 * @return if the game is won.
+	 */
+	public boolean over() {
+
+		final int HALF_ROWS = this.getRowLength() / 2;
+		final int HALF_COLUMNS = this.getColumnLength() / 2;
+
+		for(int r = 0; r < this.getRowLength(); r++) {
+			for(int c = 0; c < this.getColumnLength(); c++) {
+
+				//Same halves as the game, with the pieces swapped.
+				char expected = FrogsAndToads.EMPTY_SPACE;
+				if(r < HALF_ROWS || (c < HALF_COLUMNS && !(r > HALF_ROWS))) {
+					expected = FrogsAndToads.TOAD_SPACE;
+				} else if(r > HALF_ROWS || (c > HALF_COLUMNS && !(r < HALF_ROWS))) {
+					expected = FrogsAndToads.FROG_SPACE;
+				}
+
+				if(this.grid[r][c] != expected) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Makes a move at cell (row, column).
+	 * @param row of the cell to be swapped with the empty space.
+	 * @param column of the cell to be swapped with the empty space.
+	 * @return position after the move, or null if the move is not legal.
+	 */
+	public Position move(int row, int column) {
+		final int CODE = Moves.codeOf(this.emptyRow, this.emptyColumn, row, column);
+		if(CODE < 0 || (this.getLegalMoveCodes() & (1 << CODE)) == 0) {
+			return null;
+		}
+		return this.swap(row, column);
+	}
+
+	/**
+	 * Swaps a cell with the empty space without checking that it is legal.
+	 * Used by the game to follow both moves and undos.
+	 * @param row of the cell to be swapped with the empty space.
+	 * @param column of the cell to be swapped with the empty space.
+	 * @return position after the swap.
+	 */
+	Position swap(int row, int column) {
+
+		//Shares every row except the ones holding the piece and the empty space.
+		char[][] grid = this.grid.clone();
+		grid[row] = grid[row].clone();
+		if(row != this.emptyRow) {
+			grid[this.emptyRow] = grid[this.emptyRow].clone();
+		}
+
+		grid[this.emptyRow][this.emptyColumn] = grid[row][column];
+		grid[row][column] = FrogsAndToads.EMPTY_SPACE;
+
+		return new Position(grid, row, column);
+	}
+
+	/**
+	 * Copies the board into a game.
+	 * @return new game with the same board and no previous moves.
+	 */
+	public FrogsAndToads toGame() {
+		return new FrogsAndToads(this);
+	}
+
+	/**
+	 * Copies one row of the board.
+	 * @param row to copy.
+	 * @param destination receives the row.
+	 */
+	void copyRow(int row, char[] destination) {
+		System.arraycopy(this.grid[row], 0, destination, 0, destination.length);
+	}
+
+	/**
+	 * Returns true if a piece of the given type is where a move code starts.
+	 * @param code of the move.
+	 * @param toad is true to look for a toad, false for a frog.
+	 * @return if the piece is there.
+	 */
+	private boolean pieceAt(int code, boolean toad) {
+		final char PIECE = this.at(this.emptyRow + Moves.rowOffset(code), this.emptyColumn + Moves.columnOffset(code));
+		return PIECE == (toad ? FrogsAndToads.TOAD_SPACE : FrogsAndToads.FROG_SPACE);
+	}
+
+	/**
+	 * Retrieves the character at a cell.
+	 * @param row of the cell.
+	 * @param column of the cell.
+	 * @return character of the cell, or 0 if it is off the board.
+	 */
+	private char at(int row, int column) {
+		if(row < 0 || row >= this.grid.length || column < 0 || column >= this.grid[0].length) {
+			return 0;
+		}
+		return this.grid[row][column];
+	}
+
+}
@@ -0,0 +1,355 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates puzzles a set number of moves away from winning.
+ * A puzzle starts from the solved board and takes back random moves, so it
+ *  can always be won. Taking back moves only gives an upper bound on how far
+ *  the puzzle is from winning, so the shortest distance is then checked with
+ *  a depth limited search, and more moves are taken back until the distance
+ *  is exactly the one asked for. The search is cut short by a table of every
+ *  position within a few moves of winning, built once per generator.
+ * Positions are remembered by their packed board, so no two positions can
+ *  share an entry, and the board can have at most 58 cells.
+ * @version 1.0
+ * @author Michael Bloom
+ * @see PackedBoard
+ */
+public class PuzzleGenerator {
+
+	//Walks that go this many times past the distance start over.
+	private final static int WALK_FACTOR = 4;
+
+	//Walks tried before giving up on a distance.
+	private final static int ATTEMPTS = 64;
+
+	//Largest number of positions remembered between puzzles.
+	private final static int BOUNDS_LIMIT = 1 << 20;
+
+	//Largest number of positions near the goal kept with their exact distance.
+	private final static int NEAR_LIMIT = 1 << 17;
+
+	private final FrogsAndToads goal;
+	private final FrogsAndToads game;
+	private final Random random;
+	private final int goalSum;
+
+	//Fewest moves each searched position is known to need.
+	private final LongIntMap bounds = new LongIntMap();
+
+	//Exact distance of every position within nearDepth moves of the goal.
+	private LongIntMap near;
+	private int nearDepth;
+
+	//Pieces off their winning side, and how far they still have to travel.
+	private int misplaced;
+	private int travel;
+
+	/**
+	 * Creates a generator for a board size.
+	 * @param rows is the vertical length of the board.
+	 * @param columns is the horizontal length of the board.
+	 * @param seed of the random moves, so the same puzzles can be made again.
+	 */
+	public PuzzleGenerator(int rows, int columns, long seed) {
+
+		//The solved board is the starting board with the pieces swapped.
+		FrogsAndToads start = new FrogsAndToads(rows, columns);
+		if(!PackedBoard.fits(start.getRowLength(), start.getColumnLength())) {
+			throw new IllegalArgumentException("Board is too large to pack: "
+					+ start.getRowLength() + "x" + start.getColumnLength());
+		}
+
+		char[][] grid = new char[start.getRowLength()][start.getColumnLength()];
+		for(int r = 0; r < grid.length; r++) {
+			for(int c = 0; c < grid[r].length; c++) {
+				if(start.frogAt(r, c)) {
+					grid[r][c] = FrogsAndToads.TOAD_SPACE;
+				} else if(start.toadAt(r, c)) {
+					grid[r][c] = FrogsAndToads.FROG_SPACE;
+				} else {
+					grid[r][c] = FrogsAndToads.EMPTY_SPACE;
+				}
+			}
+		}
+
+		this.goal = new FrogsAndToads(grid, start.getEmptySpaceRow(), start.getEmptySpaceColumn());
+		this.game = new FrogsAndToads(this.goal);
+		this.random = new Random(seed);
+		this.goalSum = PuzzleGenerator.sum(this.goal);
+	}
+
+	/**
+	 * Creates a puzzle.
+	 * @param distance is the number of moves the shortest solution should take.
+	 * @return new game exactly that many moves from winning, or null if none was found.
+	 */
+	public FrogsAndToads generate(int distance) {
+
+		if(distance < 0) {
+			throw new IllegalArgumentException("Distance cannot be negative: " + distance);
+		}
+
+		final int MAX_DEPTH = Math.max(1, distance * PuzzleGenerator.WALK_FACTOR);
+		final int MAX_STEPS = MAX_DEPTH * PuzzleGenerator.WALK_FACTOR;
+
+		//Moves taken back so far, and the ones already tried at each depth.
+		byte[] path = new byte[MAX_DEPTH];
+		int[] tried = new int[MAX_DEPTH + 1];
+
+		for(int attempt = 0; attempt < PuzzleGenerator.ATTEMPTS; attempt++) {
+			this.game.copyFrom(this.goal);
+
+			int depth = 0;
+			int check = distance;
+			tried[0] = 0;
+
+			for(int steps = 0; steps < MAX_STEPS; steps++) {
+
+				//Each move taken back adds at most one to the distance, so the
+				//	next check is only needed once enough moves could make it up.
+				if(depth >= check) {
+					final int FOUND = this.distance(this.game, distance);
+					if(FOUND == distance) {
+						return new FrogsAndToads(this.game);
+					}
+					check = FOUND < 0 ? MAX_DEPTH + 1 : depth + distance - FOUND;
+				}
+
+				//Backs up out of dead ends instead of starting over.
+				final int CHOICES = depth < MAX_DEPTH ? this.game.getReverseMoveCodes() & ~tried[depth] : 0;
+				if(CHOICES == 0) {
+					if(depth == 0) {
+						break;
+					}
+					this.game.move(path[--depth], false);
+					check = Math.max(distance, depth + 1);
+					continue;
+				}
+
+				final byte CODE = this.pick(CHOICES);
+				tried[depth] |= 1 << CODE;
+				this.game.reverse(CODE);
+				path[depth++] = CODE;
+				tried[depth] = 0;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Finds the shortest number of moves needed to win.
+	 * @param game is the board to check, which is left as it was along with its previous moves.
+	 * @param bound is the largest distance searched.
+	 * @return the shortest distance, or -1 if it is more than bound or the game cannot be won.
+	 */
+	public int distance(FrogsAndToads game, int bound) {
+
+		if(game.getRowLength() != this.goal.getRowLength() || game.getColumnLength() != this.goal.getColumnLength()) {
+			throw new IllegalArgumentException("Boards are different sizes.");
+		}
+
+		if(this.bounds.size() > PuzzleGenerator.BOUNDS_LIMIT) {
+			this.bounds.clear();
+		}
+
+		//Positions near the goal are looked up instead of searched.
+		if(this.near == null) {
+			this.buildNear();
+		}
+		final int NEAR = this.near.get(PackedBoard.encode(game), -1);
+		if(NEAR >= 0) {
+			return NEAR <= bound ? NEAR : -1;
+		}
+
+		//Counts what is left to do once, then keeps it up to date move by move.
+		this.misplaced = 0;
+		for(int r = 0; r < game.getRowLength(); r++) {
+			for(int c = 0; c < game.getColumnLength(); c++) {
+				if((game.frogAt(r, c) && !this.goal.frogAt(r, c)) || (game.toadAt(r, c) && !this.goal.toadAt(r, c))) {
+					++this.misplaced;
+				}
+			}
+		}
+		this.travel = this.goalSum - PuzzleGenerator.sum(game);
+
+		//Searches a copy, since moves that are not remembered clear the game's previous moves.
+		final FrogsAndToads SEARCH = game == this.game ? game : game.fork(false);
+
+		//Deepens the search one move at a time from the lower bound.
+		for(int depth = Math.max(this.lowerBound(), this.nearDepth + 1); depth <= bound; depth++) {
+			if(this.search(SEARCH, depth)) {
+				return depth;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Searches for a win within a number of moves.
+	 * @param game is the board, which is left as it was.
+	 * @param remaining is the number of moves left.
+	 * @return true if the game can be won within the remaining moves.
+	 */
+	private boolean search(FrogsAndToads game, int remaining) {
+
+		if(this.lowerBound() > remaining) {
+			return false;
+		}
+
+		//Anything not in the table is further away than everything in it.
+		final long ID = PackedBoard.encode(game);
+		final int NEAR = this.near.get(ID, -1);
+		if(NEAR >= 0 || remaining <= this.nearDepth) {
+			return NEAR >= 0 && NEAR <= remaining;
+		}
+
+		//Skips positions an earlier search already found to be too far.
+		if(this.bounds.get(ID, 0) > remaining) {
+			return false;
+		}
+
+		final int MISPLACED = this.misplaced;
+		final int TRAVEL = this.travel;
+		final int ROW = game.getEmptySpaceRow();
+		final int COLUMN = game.getEmptySpaceColumn();
+
+		int codes = game.getLegalMoveCodes();
+		while(codes != 0) {
+			final byte CODE = (byte) Integer.numberOfTrailingZeros(codes);
+			codes &= codes - 1;
+
+			//Updates what is left to do for the piece that moves.
+			final int PIECE_ROW = ROW + Moves.rowOffset(CODE);
+			final int PIECE_COLUMN = COLUMN + Moves.columnOffset(CODE);
+			final boolean FROG = game.frogAt(PIECE_ROW, PIECE_COLUMN);
+			this.misplaced += (this.onGoal(FROG, PIECE_ROW, PIECE_COLUMN) ? 1 : 0) - (this.onGoal(FROG, ROW, COLUMN) ? 1 : 0);
+			this.travel -= Moves.distance(CODE);
+
+			game.move(CODE, false);
+			final boolean WON = this.search(game, remaining - 1);
+			game.reverse(CODE);
+
+			this.misplaced = MISPLACED;
+			this.travel = TRAVEL;
+
+			if(WON) {
+				return true;
+			}
+		}
+
+		//Remembers that this position needs more moves than were left.
+		this.bounds.put(ID, remaining + 1);
+		return false;
+	}
+
+	/**
+	 * Finds every position within a few moves of the goal by taking back
+	 *  moves one layer at a time, stopping before the table gets too large.
+	 */
+	private void buildNear() {
+
+		this.near = new LongIntMap(PuzzleGenerator.NEAR_LIMIT);
+		this.near.put(PackedBoard.encode(this.goal), 0);
+		this.nearDepth = 0;
+
+		//Games of finished layers, and positions that were already known, are reused.
+		GamePool pool = new GamePool(PuzzleGenerator.NEAR_LIMIT);
+		List<FrogsAndToads> layer = new ArrayList<>();
+		layer.add(this.goal.fork(false));
+
+		while(!layer.isEmpty()) {
+			List<FrogsAndToads> next = new ArrayList<>();
+			for(FrogsAndToads position : layer) {
+				int codes = position.getReverseMoveCodes();
+				while(codes != 0) {
+					final byte CODE = (byte) Integer.numberOfTrailingZeros(codes);
+					codes &= codes - 1;
+
+					FrogsAndToads previous = pool.fork(position, false);
+					previous.reverse(CODE);
+					final long ID = PackedBoard.encode(previous);
+					if(this.near.get(ID, -1) < 0) {
+						this.near.put(ID, this.nearDepth + 1);
+						next.add(previous);
+					} else {
+						pool.release(previous);
+					}
+				}
+
+				//Drops the layer being built if it will not fit, so every layer kept is complete.
+				if(this.near.size() > PuzzleGenerator.NEAR_LIMIT) {
+					for(FrogsAndToads dropped : next) {
+						this.near.put(PackedBoard.encode(dropped), -1);
+					}
+					return;
+				}
+			}
+
+			for(FrogsAndToads done : layer) {
+				pool.release(done);
+			}
+			++this.nearDepth;
+			layer = next;
+		}
+	}
+
+	/**
+	 * Finds the fewest moves that could still win.
+	 * Every move moves one piece, and moves a piece at most two spaces.
+	 * @return lower bound on the distance.
+	 */
+	private int lowerBound() {
+		return Math.max(this.misplaced, (this.travel + 1) / 2);
+	}
+
+	/**
+	 * Returns true if a piece at (row, column) is where it ends up in the solved board.
+	 * @param frog is true for a frog, false for a toad.
+	 * @param row of the cell.
+	 * @param column of the cell.
+	 * @return if the cell is on the piece's winning side.
+	 */
+	private boolean onGoal(boolean frog, int row, int column) {
+		return frog ? this.goal.frogAt(row, column) : this.goal.toadAt(row, column);
+	}
+
+	/**
+	 * Picks a random move code from a mask.
+	 * @param codes is the bit mask of move codes to pick from.
+	 * @return one of the codes.
+	 */
+	private byte pick(int codes) {
+		for(int skip = this.random.nextInt(Integer.bitCount(codes)); skip > 0; skip--) {
+			codes &= codes - 1;
+		}
+		return (byte) Integer.numberOfTrailingZeros(codes);
+	}
+
+	/**
+	 * Sums how far along every piece is.
+	 * Frogs move down and right, toads move up and left, so every move adds
+	 *  the number of spaces it moved to the sum.
+	 * @param game is the board to sum.
+	 * @return frog row and column total minus the toad row and column total.
+	 */
+	private static int sum(FrogsAndToads game) {
+		int sum = 0;
+		for(int r = 0; r < game.getRowLength(); r++) {
+			for(int c = 0; c < game.getColumnLength(); c++) {
+				if(game.frogAt(r, c)) {
+					sum += r + c;
+				} else if(game.toadAt(r, c)) {
+					sum -= r + c;
+				}
+			}
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,177 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a replay written by a {@link ReplayWriter}.
+ * Moves are decoded one block at a time, so a replay of any length is read
+ *  with the same small buffer.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class ReplayReader implements Closeable {
+
+	private final DataInputStream in;
+	private final int rows;
+	private final int columns;
+
+	private final byte[] block = new byte[(ReplayWriter.BLOCK_MOVES * 3 + 7) / 8];
+	private int remaining = 0;
+	private int position = 0;
+	private long bits = 0;
+	private int bitCount = 0;
+	private boolean ended = false;
+
+	/**
+	 * Opens a replay and reads its header.
+	 * @param in holds the replay.
+	 * @throws IOException if the header is missing or not a replay.
+	 */
+	public ReplayReader(InputStream in) throws IOException {
+		this.in = new DataInputStream(in);
+		if(this.in.readInt() != ReplayWriter.MAGIC) {
+			throw new IOException("Not a frogs and toads replay.");
+		}
+		this.rows = this.in.readInt();
+		this.columns = this.in.readInt();
+	}
+
+	/**
+	 * Retrieves the number of rows of the board.
+	 * @return rows length
+	 */
+	public int getRowLength() {
+		return this.rows;
+	}
+
+	/**
+	 * Retrieves the number of columns of the board.
+	 * @return column length
+	 */
+	public int getColumnLength() {
+		return this.columns;
+	}
+
+	/**
+	 * Reads the next move.
+	 * @return move code, or -1 at the end of the replay.
+	 * @throws IOException if the replay is cut short.
+	 * @see Moves
+	 */
+	public int read() throws IOException {
+
+		if(this.remaining == 0 && !this.nextBlock()) {
+			return -1;
+		}
+
+		//Refills the bit buffer a byte at a time.
+		if(this.bitCount < 3) {
+			this.bits |= (long) (this.block[this.position++] & 0xFF) << this.bitCount;
+			this.bitCount += 8;
+		}
+
+		final int CODE = (int) (this.bits & 7);
+		this.bits >>>= 3;
+		this.bitCount -= 3;
+		--this.remaining;
+
+		return CODE;
+	}
+
+	/**
+	 * Reads many moves at once.
+	 * @param codes receives the moves.
+	 * @param offset of the first move.
+	 * @param count is the most moves to read.
+	 * @return number of moves read, or -1 at the end of the replay.
+	 * @throws IOException if the replay is cut short.
+	 */
+	public int read(byte[] codes, int offset, int count) throws IOException {
+
+		if(this.remaining == 0 && !this.nextBlock()) {
+			return -1;
+		}
+
+		final int READ = Math.min(count, this.remaining);
+		long bits = this.bits;
+		int bitCount = this.bitCount;
+		int position = this.position;
+
+		//Decodes from the block without going back through read().
+		for(int i = offset; i < offset + READ; i++) {
+			if(bitCount < 3) {
+				bits |= (long) (this.block[position++] & 0xFF) << bitCount;
+				bitCount += 8;
+			}
+			codes[i] = (byte) (bits & 7);
+			bits >>>= 3;
+			bitCount -= 3;
+		}
+
+		this.bits = bits;
+		this.bitCount = bitCount;
+		this.position = position;
+		this.remaining -= READ;
+
+		return READ;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.in.close();
+	}
+
+	/**
+	 * Loads the next block of moves.
+	 * @return false if the replay has ended.
+	 * @throws IOException if the replay is cut short.
+	 */
+	private boolean nextBlock() throws IOException {
+
+		if(this.ended) {
+			return false;
+		}
+
+		final int COUNT = this.readCount();
+		if(COUNT == 0) {
+			this.ended = true;
+			return false;
+		}
+		if(COUNT < 0 || COUNT > ReplayWriter.BLOCK_MOVES) {
+			throw new IOException("Replay block is too large: " + COUNT);
+		}
+
+		this.in.readFully(this.block, 0, (COUNT * 3 + 7) / 8);
+		this.remaining = COUNT;
+		this.position = 0;
+		this.bits = 0;
+		this.bitCount = 0;
+
+		return true;
+	}
+
+	/**
+	 * Reads a block's move count seven bits at a time.
+	 * @return number of moves in the block.
+	 * @throws IOException if the replay is cut short.
+	 */
+	private int readCount() throws IOException {
+		int count = 0;
+		for(int shift = 0; shift < 32; shift += 7) {
+			final int BYTE = this.in.read();
+			if(BYTE < 0) {
+				throw new EOFException("Replay ended without a final block.");
+			}
+			count |= (BYTE & 0x7F) << shift;
+			if((BYTE & 0x80) == 0) {
+				return count;
+			}
+		}
+		throw new IOException("Replay block count is too long.");
+	}
+
+}
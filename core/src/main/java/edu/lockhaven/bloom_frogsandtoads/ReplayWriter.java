@@ -0,0 +1,152 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a game as a compact replay.
+ * The replay starts with a header holding the board size, followed by
+ *  blocks of moves. Each block is its move count as a variable length number
+ *  and then the 3 bit move codes packed back to back. A block with no moves
+ *  ends the replay. Only one block is held in memory at a time.
+ * @version 1.0
+ * @author Michael Bloom
+ * @see ReplayReader
+ */
+public class ReplayWriter implements Closeable, Flushable {
+
+	//Marks the start of a replay: "FTR" and the format version.
+	final static int MAGIC = 0x46545201;
+
+	//Largest number of moves in one block.
+	final static int BLOCK_MOVES = 8192;
+
+	private final DataOutputStream out;
+	private final byte[] block = new byte[(ReplayWriter.BLOCK_MOVES * 3 + 7) / 8];
+	private int count = 0;
+	private long bits = 0;
+	private int bitCount = 0;
+	private int length = 0;
+	private boolean closed = false;
+
+	/**
+	 * Starts a replay.
+	 * @param out receives the replay.
+	 * @param rows is the vertical length of the board.
+	 * @param columns is the horizontal length of the board.
+	 * @throws IOException if the header cannot be written.
+	 */
+	public ReplayWriter(OutputStream out, int rows, int columns) throws IOException {
+		this.out = new DataOutputStream(out);
+		this.out.writeInt(ReplayWriter.MAGIC);
+		this.out.writeInt(rows);
+		this.out.writeInt(columns);
+	}
+
+	/**
+	 * Adds a move to the replay.
+	 * @param code of the move relative to the empty space.
+	 * @throws IOException if a full block cannot be written or the replay is closed.
+	 * @see Moves
+	 */
+	public void write(int code) throws IOException {
+
+		if(this.closed) {
+			throw new IOException("Replay is closed");
+		}
+
+		//Adds the code to the bit buffer and moves whole bytes into the block.
+		this.bits |= (long) (code & 7) << this.bitCount;
+		this.bitCount += 3;
+		while(this.bitCount >= 8) {
+			this.block[this.length++] = (byte) this.bits;
+			this.bits >>>= 8;
+			this.bitCount -= 8;
+		}
+
+		if(++this.count == ReplayWriter.BLOCK_MOVES) {
+			this.writeBlock();
+		}
+	}
+
+	/**
+	 * Adds many moves to the replay.
+	 * @param codes of the moves.
+	 * @param offset of the first move.
+	 * @param count is the number of moves.
+	 * @throws IOException if a full block cannot be written or the replay is closed.
+	 */
+	public void write(byte[] codes, int offset, int count) throws IOException {
+		for(int i = offset; i < offset + count; i++) {
+			this.write(codes[i]);
+		}
+	}
+
+	/**
+	 * Writes any moves held in memory and flushes the stream.
+	 * @throws IOException if the block cannot be written.
+	 */
+	@Override
+	public void flush() throws IOException {
+		this.writeBlock();
+		this.out.flush();
+	}
+
+	/**
+	 * Writes the last block, ends the replay and closes the stream.
+	 * @throws IOException if the replay cannot be finished.
+	 */
+	@Override
+	public void close() throws IOException {
+		if(this.closed) {
+			return;
+		}
+		this.closed = true;
+
+		this.writeBlock();
+		ReplayWriter.writeCount(this.out, 0);
+		this.out.close();
+	}
+
+	/**
+	 * Writes the moves held in memory as one block.
+	 * @throws IOException if the block cannot be written.
+	 */
+	private void writeBlock() throws IOException {
+
+		if(this.count == 0) {
+			return;
+		}
+
+		//Pads the last partial byte with zeros.
+		if(this.bitCount > 0) {
+			this.block[this.length++] = (byte) this.bits;
+		}
+
+		ReplayWriter.writeCount(this.out, this.count);
+		this.out.write(this.block, 0, this.length);
+
+		this.count = 0;
+		this.bits = 0;
+		this.bitCount = 0;
+		this.length = 0;
+	}
+
+	/**
+	 * Writes a block's move count seven bits at a time.
+	 * @param out receives the count.
+	 * @param count is the number of moves.
+	 * @throws IOException if the count cannot be written.
+	 */
+	private static void writeCount(OutputStream out, int count) throws IOException {
+		while((count & ~0x7F) != 0) {
+			out.write((count & 0x7F) | 0x80);
+			count >>>= 7;
+		}
+		out.write(count);
+	}
+
+}
@@ -0,0 +1,348 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores solutions on disk so they only need to be built once.
+ * Every solution is kept in a single file as a record of the board dimensions,
+ *  the position identifier and the move codes packed two to a byte.
+ * The record headers are read into an index when the cache is opened and the
+ *  file is memory mapped for reading. When the records grow past the budget,
+ *  the least recently used solutions are dropped and the file is rewritten.
+ *  If the rewrite cannot be swapped in, the dropped records stay in the file
+ *  as unused space until the next rewrite.
+ * The order solutions were last used in is saved beside the file when the
+ *  cache is closed, so it carries over to the next time the cache is opened.
+ *  Solutions added since the last close, if it never happened, count as the
+ *  least recently used.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class SolutionCache implements Closeable {
+
+	//Rows, columns, position identifier and move count.
+	private final static int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+	//Ends the name of the file that keeps the order solutions were last used in.
+	private final static String RECENCY_SUFFIX = ".lru";
+
+	private final File file;
+	private final File recency;
+	private final long budget;
+	private final LinkedHashMap<Key, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+
+	private RandomAccessFile data;
+	private MappedByteBuffer mapped;
+	private long size = 0;
+
+	//Bytes of the records in the index, which is less than size while dropped records are still in the file.
+	private long live = 0;
+
+	/**
+	 * Opens a solution cache.
+	 * @param file that holds the solutions.
+	 * @param budget is the largest number of bytes the file may hold.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public SolutionCache(File file, long budget) throws IOException {
+		this.file = file;
+		this.recency = new File(file.getPath() + SolutionCache.RECENCY_SUFFIX);
+		this.budget = budget;
+		this.data = new RandomAccessFile(file, "rw");
+		this.readIndex();
+		this.readRecency();
+	}
+
+	/**
+	 * Retrieves a stored solution.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @param position is the identifier of the starting position.
+	 * @return packed move codes, or null if the solution is not stored.
+	 * @throws IOException if the file cannot be read.
+	 * @see FrogsAndToads#getPositionId()
+	 */
+	public synchronized byte[] get(int rows, int columns, long position) throws IOException {
+
+		Entry entry = this.index.get(new Key(rows, columns, position));
+		if(entry == null) {
+			return null;
+		}
+
+		//Maps any records appended since the last read.
+		if(this.mapped == null || this.mapped.capacity() < this.size) {
+			this.mapped = this.data.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+		}
+
+		//Unpacks two move codes from every byte.
+		byte[] moves = new byte[entry.count];
+		int offset = (int) entry.offset + SolutionCache.HEADER_SIZE;
+		for(int i = 0; i < moves.length; i++) {
+			int packed = this.mapped.get(offset + i / 2);
+			moves[i] = (byte) ((i % 2 == 0 ? packed : packed >> 4) & 0x0F);
+		}
+
+		return moves;
+	}
+
+	/**
+	 * Stores a solution, dropping old solutions if the budget is exceeded.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @param position is the identifier of the starting position.
+	 * @param moves are the packed move codes of the solution.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public synchronized void put(int rows, int columns, long position, byte[] moves) throws IOException {
+
+		//Looking up a stored solution also marks it as recently used.
+		Key key = new Key(rows, columns, position);
+		if(this.index.get(key) != null) {
+			return;
+		}
+
+		//Appends the record to the end of the file.
+		ByteBuffer record = SolutionCache.record(key, moves);
+		this.data.getChannel().write(record, this.size);
+		this.index.put(key, new Entry(this.size, moves.length));
+		this.size += record.capacity();
+		this.live += record.capacity();
+
+		if(this.live > this.budget) {
+			this.evict();
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			this.writeRecency();
+		} finally {
+			this.mapped = null;
+			this.data.close();
+		}
+	}
+
+	/**
+	 * Drops the least recently used solutions and rewrites the file.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private void evict() throws IOException {
+
+		//Drops the oldest solutions until the rest fit, always keeping the newest.
+		Iterator<Map.Entry<Key, Entry>> iterator = this.index.entrySet().iterator();
+		while(this.live > this.budget && this.index.size() > 1) {
+			Map.Entry<Key, Entry> eldest = iterator.next();
+			this.live -= SolutionCache.HEADER_SIZE + (eldest.getValue().count + 1) / 2;
+			iterator.remove();
+		}
+
+		//Copies the remaining records in least recently used order.
+		List<ByteBuffer> records = new ArrayList<>();
+		for(Map.Entry<Key, Entry> entry : this.index.entrySet()) {
+			ByteBuffer record = ByteBuffer.allocate(
+					SolutionCache.HEADER_SIZE + (entry.getValue().count + 1) / 2);
+			this.data.getChannel().read(record, entry.getValue().offset);
+			record.flip();
+			records.add(record);
+		}
+
+		//Writes the records to a new file and swaps it in.
+		File rewrite = new File(this.file.getPath() + ".tmp");
+		try(RandomAccessFile out = new RandomAccessFile(rewrite, "rw")) {
+			out.setLength(0);
+			for(ByteBuffer record : records) {
+				out.getChannel().write(record);
+			}
+		}
+
+		//Keeps using the old file if the new one cannot be swapped in. Its
+		//	remaining records are where the index says, so only the space is lost.
+		//	The budget is counted from the live records, so later puts do not
+		//	rewrite again until they are over it.
+		if(!rewrite.renameTo(this.file)) {
+			rewrite.delete();
+			throw new IOException("Could not replace " + this.file);
+		}
+
+		this.mapped = null;
+		this.data.close();
+		this.data = new RandomAccessFile(this.file, "rw");
+
+		//The records were written in least recently used order, so the index keeps it.
+		this.readIndex();
+	}
+
+	/**
+	 * Reads the record headers of the file into the index.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private void readIndex() throws IOException {
+
+		this.index.clear();
+		this.size = 0;
+
+		final long LENGTH = this.data.length();
+		ByteBuffer header = ByteBuffer.allocate(SolutionCache.HEADER_SIZE);
+
+		while(this.size + SolutionCache.HEADER_SIZE <= LENGTH) {
+			header.clear();
+			this.data.getChannel().read(header, this.size);
+			header.flip();
+
+			Key key = new Key(header.getInt(), header.getInt(), header.getLong());
+			int count = header.getInt();
+			long length = SolutionCache.HEADER_SIZE + (count + 1) / 2;
+
+			//Stops at a record that was only partly written.
+			if(count < 0 || this.size + length > LENGTH) {
+				break;
+			}
+
+			this.index.put(key, new Entry(this.size, count));
+			this.size += length;
+		}
+
+		//Cuts off anything after the last complete record.
+		this.data.setLength(this.size);
+		this.live = this.size;
+	}
+
+	/**
+	 * Puts the index back in the order its solutions were last used in,
+	 *  as saved when the cache was last closed.
+	 * @throws IOException if the saved order cannot be read.
+	 */
+	private void readRecency() throws IOException {
+
+		if(!this.recency.exists()) {
+			return;
+		}
+
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.recency)))) {
+			final int COUNT = in.readInt();
+			for(int i = 0; i < COUNT; i++) {
+				Key key = new Key(in.readInt(), in.readInt(), in.readLong());
+
+				//Putting a solution again moves it to the most recently used end.
+				Entry entry = this.index.remove(key);
+				if(entry != null) {
+					this.index.put(key, entry);
+				}
+			}
+		} catch (EOFException e) {
+			//A cut short order only loses the recency of the solutions after the cut.
+		}
+	}
+
+	/**
+	 * Saves the order solutions were last used in, by writing a new file
+	 *  and renaming it over the old one.
+	 * @throws IOException if the order cannot be written.
+	 */
+	private void writeRecency() throws IOException {
+
+		File rewrite = new File(this.recency.getPath() + ".tmp");
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(rewrite)))) {
+			out.writeInt(this.index.size());
+			for(Key key : this.index.keySet()) {
+				out.writeInt(key.rows);
+				out.writeInt(key.columns);
+				out.writeLong(key.position);
+			}
+		}
+
+		if(!rewrite.renameTo(this.recency) && !(this.recency.delete() && rewrite.renameTo(this.recency))) {
+			throw new IOException("Could not replace " + this.recency);
+		}
+	}
+
+	/**
+	 * Builds the bytes of a record.
+	 * @param key of the solution.
+	 * @param moves are the packed move codes of the solution.
+	 * @return record ready to be written.
+	 */
+	private static ByteBuffer record(Key key, byte[] moves) {
+
+		ByteBuffer record = ByteBuffer.allocate(SolutionCache.HEADER_SIZE + (moves.length + 1) / 2);
+		record.putInt(key.rows).putInt(key.columns).putLong(key.position).putInt(moves.length);
+
+		//Packs two move codes into every byte.
+		for(int i = 0; i < moves.length; i += 2) {
+			int packed = moves[i] & 0x0F;
+			if(i + 1 < moves.length) {
+				packed |= (moves[i + 1] & 0x0F) << 4;
+			}
+			record.put((byte) packed);
+		}
+
+		record.flip();
+		return record;
+	}
+
+	/**
+	 * Identifies a solution by board size and position.
+	 */
+	private static final class Key {
+
+		private final int rows;
+		private final int columns;
+		private final long position;
+
+		private Key(int rows, int columns, long position) {
+			this.rows = rows;
+			this.columns = columns;
+			this.position = position;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return this.rows == key.rows && this.columns == key.columns && this.position == key.position;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * this.rows + this.columns) + (int) (this.position ^ (this.position >>> 32));
+		}
+
+	}
+
+	/**
+	 * Location of a solution within the file.
+	 */
+	private static final class Entry {
+
+		private final long offset;
+		private final int count;
+
+		private Entry(long offset, int count) {
+			this.offset = offset;
+			this.count = count;
+		}
+
+	}
+
+}
@@ -0,0 +1,169 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Checks submitted solutions written by a {@link ReplayWriter}.
+ * The moves are read one block at a time and made on a board without keeping
+ *  the previous moves, so a solution of any length is checked in the same
+ *  memory. Each thread keeps its own board and buffer, so one verifier can
+ *  check many solutions at once.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class SolutionVerifier {
+
+	//Moves read from the replay at a time.
+	private final static int BATCH = 4096;
+
+	/**
+	 * Outcome of checking one solution.
+	 */
+	public static class Result {
+
+		private final long moves;
+		private final long illegalMove;
+		private final boolean solved;
+
+		private Result(long moves, long illegalMove, boolean solved) {
+			this.moves = moves;
+			this.illegalMove = illegalMove;
+			this.solved = solved;
+		}
+
+		/**
+		 * Retrieves the number of legal moves made before the check stopped.
+		 * @return number of moves.
+		 */
+		public long getMoves() {
+			return this.moves;
+		}
+
+		/**
+		 * Retrieves the index of the first illegal move.
+		 * @return index in the replay, or -1 if every move was legal.
+		 */
+		public long getIllegalMove() {
+			return this.illegalMove;
+		}
+
+		/**
+		 * Returns true if every move was legal and the game was won at the end.
+		 * @return if the solution is valid.
+		 */
+		public boolean isSolved() {
+			return this.solved;
+		}
+
+		@Override
+		public String toString() {
+			if(this.solved) {
+				return "solved in " + this.moves + " moves";
+			} else if(this.illegalMove >= 0) {
+				return "illegal move at " + this.illegalMove;
+			}
+			return "not solved after " + this.moves + " moves";
+		}
+
+	}
+
+	private final FrogsAndToads start;
+
+	//Each thread reuses one board and one buffer of moves.
+	private final ThreadLocal<FrogsAndToads> games;
+	private final ThreadLocal<byte[]> buffers;
+
+	/**
+	 * Creates a verifier for a board size.
+	 * @param rows is the vertical length of the board.
+	 * @param columns is the horizontal length of the board.
+	 */
+	public SolutionVerifier(int rows, int columns) {
+		this.start = new FrogsAndToads(rows, columns);
+		this.games = ThreadLocal.withInitial(() -> this.start.fork(false));
+		this.buffers = ThreadLocal.withInitial(() -> new byte[SolutionVerifier.BATCH]);
+	}
+
+	/**
+	 * Retrieves the number of rows of the board.
+	 * @return rows length
+	 */
+	public int getRowLength() {
+		return this.start.getRowLength();
+	}
+
+	/**
+	 * Retrieves the number of columns of the board.
+	 * @return column length
+	 */
+	public int getColumnLength() {
+		return this.start.getColumnLength();
+	}
+
+	/**
+	 * Checks a solution from a stream.
+	 * The stream is left open.
+	 * @param in holds the replay.
+	 * @return result of the check.
+	 * @throws IOException if the replay cannot be read or is for another board size.
+	 */
+	public Result verify(InputStream in) throws IOException {
+		return this.verify(new ReplayReader(new BufferedInputStream(in)));
+	}
+
+	/**
+	 * Checks a solution from the starting board.
+	 * Moves after the first illegal one are not read.
+	 * @param replay to read the moves from.
+	 * @return result of the check.
+	 * @throws IOException if the replay cannot be read or is for another board size.
+	 */
+	public Result verify(ReplayReader replay) throws IOException {
+
+		if(replay.getRowLength() != this.getRowLength() || replay.getColumnLength() != this.getColumnLength()) {
+			throw new IOException("Replay is for a " + replay.getRowLength() + "x" + replay.getColumnLength()
+					+ " board, not " + this.getRowLength() + "x" + this.getColumnLength() + ".");
+		}
+
+		FrogsAndToads game = this.games.get();
+		game.copyFrom(this.start, false);
+
+		final byte[] CODES = this.buffers.get();
+		long moves = 0;
+		int read;
+
+		while((read = replay.read(CODES, 0, CODES.length)) > 0) {
+			final int ILLEGAL = game.moveAll(CODES, 0, read, false);
+			if(ILLEGAL >= 0) {
+				return new Result(moves + ILLEGAL, moves + ILLEGAL, false);
+			}
+			moves += read;
+		}
+
+		return new Result(moves, -1, game.over());
+	}
+
+	/**
+	 * Checks a solution held in memory.
+	 * @param codes of the moves relative to the empty space.
+	 * @param offset of the first move.
+	 * @param count is the number of moves.
+	 * @return result of the check.
+	 * @see Moves
+	 */
+	public Result verify(byte[] codes, int offset, int count) {
+
+		FrogsAndToads game = this.games.get();
+		game.copyFrom(this.start, false);
+
+		final int ILLEGAL = game.moveAll(codes, offset, count, false);
+		if(ILLEGAL >= 0) {
+			return new Result(ILLEGAL - offset, ILLEGAL - offset, false);
+		}
+
+		return new Result(count, -1, game.over());
+	}
+
+}
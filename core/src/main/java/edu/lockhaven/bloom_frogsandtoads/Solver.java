@@ -0,0 +1,103 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+/**
+ * Builds solutions for frogs and toads boards.
+ * The middle row is solved as a one dimensional puzzle and, the first time
+ *  the empty space reaches a column, that column is solved as a one dimensional
+ *  puzzle before the row continues. Every column ends with the empty space back
+ *  in the middle row, so the row solution is never disturbed.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public final class Solver {
+
+	private Solver() {
+	}
+
+	/**
+	 * Builds a solution from the starting position of a board.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @return packed move codes that solve the board.
+	 * @see Moves
+	 */
+	public static byte[] solve(int rows, int columns) {
+
+		//Rows and columns are made odd the same way as the game does.
+		if(rows % 2 == 0) {
+			++rows;
+		}
+		if(columns % 2 == 0) {
+			++columns;
+		}
+
+		final byte[] ROW = Solver.line(columns / 2, Moves.RIGHT, Moves.LEFT);
+		final byte[] COLUMN = Solver.line(rows / 2, Moves.DOWN, Moves.UP);
+
+		byte[] solution = new byte[ROW.length + columns * COLUMN.length];
+		boolean[] visited = new boolean[columns];
+		int column = columns / 2;
+		int length = 0;
+
+		for(int i = 0; i <= ROW.length; i++) {
+
+			//Solves the column the first time the empty space reaches it.
+			if(!visited[column]) {
+				visited[column] = true;
+				System.arraycopy(COLUMN, 0, solution, length, COLUMN.length);
+				length += COLUMN.length;
+			}
+
+			//Moves along the middle row.
+			if(i < ROW.length) {
+				solution[length++] = ROW[i];
+				column += Moves.columnOffset(ROW[i]);
+			}
+		}
+
+		return solution;
+	}
+
+	/**
+	 * Builds the solution of a one dimensional puzzle.
+	 * The moves come in groups of 1, 2, ..., n, n, n, ..., 2, 1 that alternate
+	 *  between toads and frogs. Groups before the middle jump first and end with
+	 *  a slide, the middle group only jumps, and groups after the middle start
+	 *  with a slide.
+	 * @param n is the number of frogs and also the number of toads.
+	 * @param toad is the direction of a toad relative to the empty space.
+	 * @param frog is the direction of a frog relative to the empty space.
+	 * @return packed move codes that solve the line.
+	 */
+	private static byte[] line(int n, int toad, int frog) {
+
+		byte[] moves = new byte[n * n + 2 * n];
+		int length = 0;
+		int group = 0;
+
+		//Groups before the middle.
+		for(int k = 1; k <= n; k++, group++) {
+			final int DIRECTION = group % 2 == 0 ? toad : frog;
+			for(int i = 0; i < k; i++) {
+				moves[length++] = Moves.code(DIRECTION, i < k - 1);
+			}
+		}
+
+		//Middle group.
+		final int MIDDLE = group++ % 2 == 0 ? toad : frog;
+		for(int i = 0; i < n; i++) {
+			moves[length++] = Moves.code(MIDDLE, true);
+		}
+
+		//Groups after the middle.
+		for(int k = n; k >= 1; k--, group++) {
+			final int DIRECTION = group % 2 == 0 ? toad : frog;
+			for(int i = 0; i < k; i++) {
+				moves[length++] = Moves.code(DIRECTION, i > 0);
+			}
+		}
+
+		return moves;
+	}
+
+}
@@ -0,0 +1,127 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the solver against a plain breadth first search of every position.
+ */
+public class BidirectionalSolverTest {
+
+	private final static int LIMIT = 1 << 22;
+
+	@Test
+	public void startLengthsMatchSearch() {
+		assertEquals(12, BidirectionalSolverTest.solve(new FrogsAndToads(3, 3)));
+		assertEquals(12, BidirectionalSolverTest.search(new FrogsAndToads(3, 3)));
+
+		assertEquals(22, BidirectionalSolverTest.solve(new FrogsAndToads(3, 5)));
+		assertEquals(22, BidirectionalSolverTest.search(new FrogsAndToads(3, 5)));
+	}
+
+	@Test
+	public void largerStartLengths() {
+		//Matches the shortest solutions found by the census.
+		assertEquals(34, BidirectionalSolverTest.solve(new FrogsAndToads(3, 7)));
+		assertEquals(47, BidirectionalSolverTest.solve(new FrogsAndToads(5, 5)));
+	}
+
+	@Test
+	public void playedPositionsMatchSearch() {
+		final Random RANDOM = new Random(42);
+		for(int i = 0; i < 200; i++) {
+			FrogsAndToads game = new FrogsAndToads(3, 5);
+
+			//Plays random legal moves until a random depth or a dead end.
+			final int DEPTH = RANDOM.nextInt(20);
+			for(int d = 0; d < DEPTH; d++) {
+				final int CODES = game.getLegalMoveCodes();
+				if(CODES == 0) {
+					break;
+				}
+				int pick = RANDOM.nextInt(Integer.bitCount(CODES));
+				int code = Integer.numberOfTrailingZeros(CODES);
+				while(pick-- > 0) {
+					code = Integer.numberOfTrailingZeros(CODES & (-1 << (code + 1)));
+				}
+				assertTrue(game.move((byte) code, false));
+			}
+
+			assertEquals(game.toString(), BidirectionalSolverTest.search(game), BidirectionalSolverTest.solve(game));
+		}
+	}
+
+	@Test
+	public void solvedBoardNeedsNoMoves() {
+		FrogsAndToads game = new FrogsAndToads(3, 3);
+		assertEquals(-1, game.moveAll(Solver.solve(3, 3), 0, 12, false));
+		assertEquals(0, BidirectionalSolverTest.solve(game));
+	}
+
+	/**
+	 * Solves a board and checks that the solution wins from it.
+	 * @param game is the board, which must be left as it was.
+	 * @return length of the solution, or -1 if there is none.
+	 */
+	private static int solve(FrogsAndToads game) {
+		final long BEFORE = PackedBoard.encode(game);
+		BidirectionalSolver solver = new BidirectionalSolver(BidirectionalSolverTest.LIMIT);
+		final byte[] SOLUTION = solver.solve(game);
+		assertFalse(solver.isExhausted());
+		assertEquals(BEFORE, PackedBoard.encode(game));
+
+		if(SOLUTION == null) {
+			return -1;
+		}
+
+		FrogsAndToads copy = game.fork(false);
+		assertEquals(-1, copy.moveAll(SOLUTION, 0, SOLUTION.length, false));
+		assertTrue(copy.over());
+		return SOLUTION.length;
+	}
+
+	/**
+	 * Finds the shortest solution length by visiting every reachable position.
+	 * @param game is the board to start from.
+	 * @return number of moves, or -1 if the board cannot be won.
+	 */
+	private static int search(FrogsAndToads game) {
+		final int ROWS = game.getRowLength();
+		final int COLUMNS = game.getColumnLength();
+		final long GOAL = PackedBoard.goal(ROWS, COLUMNS);
+
+		LongHashSet seen = new LongHashSet();
+		long[] level = {PackedBoard.encode(game)};
+		seen.add(level[0]);
+
+		for(int depth = 0; level.length > 0; depth++) {
+			long[] next = new long[16];
+			int size = 0;
+
+			for(long state : level) {
+				if(state == GOAL) {
+					return depth;
+				}
+				int codes = PackedBoard.legalMoves(state, ROWS, COLUMNS);
+				while(codes != 0) {
+					final long TO = PackedBoard.apply(state, COLUMNS, Integer.numberOfTrailingZeros(codes));
+					codes &= codes - 1;
+					if(seen.add(TO)) {
+						if(size == next.length) {
+							next = Arrays.copyOf(next, size * 2);
+						}
+						next[size++] = TO;
+					}
+				}
+			}
+			level = Arrays.copyOf(next, size);
+		}
+
+		return -1;
+	}
+
+}
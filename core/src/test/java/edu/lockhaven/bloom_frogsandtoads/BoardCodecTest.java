@@ -0,0 +1,114 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that boards written by a BoardWriter read back the same, and that bad records fail.
+ */
+public class BoardCodecTest {
+
+	@Test
+	public void recordsReadBack() throws IOException {
+		List<FrogsAndToads> games = new ArrayList<>();
+		games.add(new FrogsAndToads(3, 3));
+		FrogsAndToads played = new FrogsAndToads(3, 5);
+		played.moveAll(Solver.solve(3, 5), 0, 7, false);
+		games.add(played);
+		games.add(new FrogsAndToads(1, 7));
+		games.add(new FrogsAndToads(201, 201));
+
+		StringWriter text = new StringWriter();
+		try(BoardWriter writer = new BoardWriter(text)) {
+			text.write("# corpus of boards\n\n");
+			for(FrogsAndToads game : games) {
+				writer.write(game);
+				text.write("\n# next board\n\r\n");
+			}
+		}
+
+		try(BoardReader reader = new BoardReader(new StringReader(text.toString()))) {
+			for(FrogsAndToads game : games) {
+				BoardCodecTest.assertSameBoard(game, reader.read());
+			}
+			assertNull(reader.read());
+			assertNull(reader.read());
+		}
+	}
+
+	@Test
+	public void evenSizeFails() {
+		BoardCodecTest.assertFails("3 4\nFFFF\nFF-T\nTTTT\n", "odd");
+	}
+
+	@Test
+	public void hugeSizeFails() {
+		BoardCodecTest.assertFails("99999 99999\nF-T\n", "larger than");
+	}
+
+	@Test
+	public void twoEmptySpacesFail() {
+		BoardCodecTest.assertFails("3 3\nFFF\n---\nTTT\n", "more than one empty");
+	}
+
+	@Test
+	public void noEmptySpaceFails() {
+		BoardCodecTest.assertFails("3 3\nFFF\nFFT\nTTT\n", "no empty");
+	}
+
+	@Test
+	public void shortRowFails() {
+		BoardCodecTest.assertFails("3 3\nFFF\nF-\nTTT\n", "too short");
+	}
+
+	@Test
+	public void badCharacterFails() {
+		BoardCodecTest.assertFails("3 3\nFFF\nF-X\nTTT\n", "Unexpected character 'X'");
+	}
+
+	@Test
+	public void endInsideBoardFails() {
+		BoardCodecTest.assertFails("3 3\nFFF\nF-T\nT", "ended early");
+	}
+
+	/**
+	 * Checks that two games have the same pieces in the same places.
+	 * @param expected is the game that was written.
+	 * @param actual is the game that was read.
+	 */
+	private static void assertSameBoard(FrogsAndToads expected, FrogsAndToads actual) {
+		assertNotNull(actual);
+		assertEquals(expected.getRowLength(), actual.getRowLength());
+		assertEquals(expected.getColumnLength(), actual.getColumnLength());
+		assertEquals(expected.getEmptySpaceRow(), actual.getEmptySpaceRow());
+		assertEquals(expected.getEmptySpaceColumn(), actual.getEmptySpaceColumn());
+		for(int r = 0; r < expected.getRowLength(); r++) {
+			for(int c = 0; c < expected.getColumnLength(); c++) {
+				assertEquals(expected.frogAt(r, c), actual.frogAt(r, c));
+				assertEquals(expected.toadAt(r, c), actual.toadAt(r, c));
+			}
+		}
+	}
+
+	/**
+	 * Checks that reading a record fails with an IOException.
+	 * @param text is the record.
+	 * @param message is part of the expected error message.
+	 */
+	private static void assertFails(String text, String message) {
+		try(BoardReader reader = new BoardReader(new StringReader(text))) {
+			reader.read();
+			fail("Read a bad record: " + text);
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains(message));
+		}
+	}
+
+}
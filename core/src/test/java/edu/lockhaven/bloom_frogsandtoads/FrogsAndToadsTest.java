@@ -0,0 +1,95 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that moves which are not remembered never leave undo with stale moves.
+ */
+public class FrogsAndToadsTest {
+
+	@Test
+	public void moveNotRememberedClearsPreviousMoves() {
+		FrogsAndToads game = new FrogsAndToads(5, 5);
+		assertTrue(game.move(FrogsAndToadsTest.first(game), true));
+		assertTrue(game.move(FrogsAndToadsTest.first(game), false));
+
+		//The remembered move no longer leads back from here.
+		final long ID = game.getPositionId();
+		assertFalse(game.undo());
+		assertEquals(ID, game.getPositionId());
+	}
+
+	@Test
+	public void moveAllNotRememberedClearsPreviousMoves() {
+		FrogsAndToads game = new FrogsAndToads(5, 5);
+		assertTrue(game.move(FrogsAndToadsTest.first(game), true));
+		assertEquals(-1, game.moveAll(new byte[]{FrogsAndToadsTest.first(game)}, 0, 1, false));
+		assertFalse(game.undo());
+	}
+
+	@Test
+	public void reverseClearsPreviousMoves() {
+		FrogsAndToads game = new FrogsAndToads(5, 5);
+		final byte CODE = FrogsAndToadsTest.first(game);
+		assertTrue(game.move(CODE, true));
+		assertTrue(game.reverse(CODE));
+		assertFalse(game.undo());
+		assertEquals(new FrogsAndToads(5, 5).getPositionId(), game.getPositionId());
+	}
+
+	@Test
+	public void rememberedMovesUndoInOrder() {
+		FrogsAndToads game = new FrogsAndToads(5, 5);
+		final long START = game.getPositionId();
+		assertTrue(game.move(FrogsAndToadsTest.first(game), true));
+		final long AFTER_ONE = game.getPositionId();
+		assertTrue(game.move(FrogsAndToadsTest.first(game), true));
+
+		assertTrue(game.undo());
+		assertEquals(AFTER_ONE, game.getPositionId());
+		assertTrue(game.undo());
+		assertEquals(START, game.getPositionId());
+		assertFalse(game.undo());
+	}
+
+	@Test(expected = IOException.class)
+	public void moveAllRejectsReplayOfAnotherSize() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ReplayWriter writer = new ReplayWriter(bytes, 3, 3)) {
+			writer.write(0);
+		}
+		new FrogsAndToads(5, 5).moveAll(new ReplayReader(new ByteArrayInputStream(bytes.toByteArray())), false);
+	}
+
+	@Test
+	public void moveAllRecordsEveryMoveTried() {
+		FrogsAndToads game = new FrogsAndToads(5, 5);
+		final byte CODE = FrogsAndToadsTest.first(game);
+		Metrics.reset();
+		Metrics.setEnabled(true);
+		try {
+			//Stops at the code that is not a move, after trying two.
+			assertEquals(1, game.moveAll(new byte[]{CODE, Moves.COUNT, CODE}, 0, 3, true));
+			assertEquals(2, Metrics.GAME_MOVE.getCount());
+		} finally {
+			Metrics.setEnabled(false);
+			Metrics.reset();
+		}
+	}
+
+	/**
+	 * Finds the lowest legal move code.
+	 * @param game is the board.
+	 * @return move code.
+	 */
+	private static byte first(FrogsAndToads game) {
+		return (byte) Integer.numberOfTrailingZeros(game.getLegalMoveCodes());
+	}
+
+}
@@ -0,0 +1,142 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks forked games and the games reused by a pool.
+ */
+public class GamePoolTest {
+
+	@Test
+	public void forkWithoutHistoryCannotUndo() {
+		FrogsAndToads game = GamePoolTest.played(3, 5, 2);
+		FrogsAndToads fork = game.fork(false);
+
+		assertNotSame(game, fork);
+		assertEquals(game.toString(), fork.toString());
+		assertFalse(fork.undo());
+		assertTrue(game.undo());
+	}
+
+	@Test
+	public void forkWithHistoryUndoesAlone() {
+		FrogsAndToads game = GamePoolTest.played(3, 5, 2);
+		final String PLAYED = game.toString();
+		FrogsAndToads fork = game.fork(true);
+
+		//Undoing the fork back to the start leaves the source as it was.
+		assertTrue(fork.undo());
+		assertTrue(fork.undo());
+		assertFalse(fork.undo());
+		assertEquals(new FrogsAndToads(3, 5).toString(), fork.toString());
+		assertEquals(PLAYED, game.toString());
+
+		//The source still has both of its moves to undo.
+		assertTrue(game.undo());
+		assertTrue(game.undo());
+		assertFalse(game.undo());
+	}
+
+	@Test
+	public void moveOnForkLeavesSource() {
+		FrogsAndToads game = GamePoolTest.played(3, 3, 1);
+		final String PLAYED = game.toString();
+		FrogsAndToads fork = game.fork(true);
+
+		assertTrue(fork.move(GamePoolTest.first(fork), true));
+		assertEquals(PLAYED, game.toString());
+		assertTrue(game.undo());
+		assertFalse(game.undo());
+	}
+
+	@Test
+	public void releasedGameIsReusedForSameSize() {
+		GamePool pool = new GamePool(4);
+		FrogsAndToads released = new FrogsAndToads(3, 5);
+		pool.release(released);
+		assertEquals(1, pool.size());
+
+		FrogsAndToads source = GamePoolTest.played(3, 5, 3);
+		FrogsAndToads fork = pool.fork(source, true);
+		assertSame(released, fork);
+		assertEquals(0, pool.size());
+		assertEquals(source.toString(), fork.toString());
+
+		//The reused game took the source's moves and can undo them alone.
+		assertTrue(fork.undo());
+		assertTrue(fork.undo());
+		assertTrue(fork.undo());
+		assertFalse(fork.undo());
+		assertEquals(GamePoolTest.played(3, 5, 3).toString(), source.toString());
+	}
+
+	@Test
+	public void reusedGameForgetsItsMoves() {
+		GamePool pool = new GamePool(4);
+		FrogsAndToads released = GamePoolTest.played(3, 3, 2);
+		pool.release(released);
+
+		FrogsAndToads fork = pool.fork(new FrogsAndToads(3, 3), false);
+		assertSame(released, fork);
+		assertEquals(new FrogsAndToads(3, 3).toString(), fork.toString());
+		assertFalse(fork.undo());
+	}
+
+	@Test
+	public void releasedGameIsDroppedForOtherSize() {
+		GamePool pool = new GamePool(4);
+		FrogsAndToads released = new FrogsAndToads(3, 3);
+		pool.release(released);
+
+		FrogsAndToads source = new FrogsAndToads(3, 5);
+		FrogsAndToads fork = pool.fork(source, false);
+		assertNotSame(released, fork);
+		assertEquals(source.toString(), fork.toString());
+		assertEquals(0, pool.size());
+	}
+
+	@Test
+	public void releaseStopsAtCapacity() {
+		GamePool pool = new GamePool(2);
+		pool.release(new FrogsAndToads(3, 3));
+		pool.release(new FrogsAndToads(3, 3));
+		pool.release(new FrogsAndToads(3, 3));
+		assertEquals(2, pool.size());
+
+		GamePool none = new GamePool(0);
+		none.release(new FrogsAndToads(3, 3));
+		assertEquals(0, none.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeCapacityFails() {
+		new GamePool(-1);
+	}
+
+	/**
+	 * Creates a game and makes its lowest legal move a few times, remembering each.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @param moves is the number of moves to make.
+	 * @return game after the moves.
+	 */
+	private static FrogsAndToads played(int rows, int columns, int moves) {
+		FrogsAndToads game = new FrogsAndToads(rows, columns);
+		for(int i = 0; i < moves; i++) {
+			assertTrue(game.move(GamePoolTest.first(game), true));
+		}
+		return game;
+	}
+
+	/**
+	 * Finds the lowest legal move code.
+	 * @param game is the board.
+	 * @return move code.
+	 */
+	private static byte first(FrogsAndToads game) {
+		return (byte) Integer.numberOfTrailingZeros(game.getLegalMoveCodes());
+	}
+
+}
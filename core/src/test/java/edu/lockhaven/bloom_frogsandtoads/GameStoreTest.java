@@ -0,0 +1,104 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that games in a store play like separate boards and that slots are released safely.
+ */
+public class GameStoreTest {
+
+	@Test
+	public void solutionWinsAndUndoes() {
+		GameStore store = new GameStore(3, 5, 1, -1);
+		final int ID = store.create();
+		final byte[] SOLUTION = Solver.solve(3, 5);
+
+		for(byte code : SOLUTION) {
+			assertFalse(store.over(ID));
+			assertTrue(store.move(ID, code));
+		}
+		assertTrue(store.over(ID));
+		assertEquals(SOLUTION.length, store.getUndoDepth(ID));
+
+		for(int i = 0; i < SOLUTION.length; i++) {
+			assertTrue(store.undo(ID));
+		}
+		assertFalse(store.undo(ID));
+		assertEquals(1, store.getEmptySpaceRow(ID));
+		assertEquals(2, store.getEmptySpaceColumn(ID));
+	}
+
+	@Test
+	public void defaultStoreCannotUndo() {
+		GameStore store = new GameStore(3, 3, 1);
+		final int ID = store.create();
+		assertTrue(store.move(ID, Solver.solve(3, 3)[0]));
+		assertEquals(0, store.getUndoDepth(ID));
+		assertFalse(store.undo(ID));
+	}
+
+	@Test
+	public void historyKeepsOnlyTheNewestMoves() {
+		GameStore store = new GameStore(3, 5, 1, 4);
+		final int ID = store.create();
+		final byte[] SOLUTION = Solver.solve(3, 5);
+
+		for(int i = 0; i < 10; i++) {
+			assertTrue(store.move(ID, SOLUTION[i]));
+		}
+		assertEquals(4, store.getUndoDepth(ID));
+
+		//Undoing the four newest moves gives the board after six moves.
+		for(int i = 0; i < 4; i++) {
+			assertTrue(store.undo(ID));
+		}
+		assertFalse(store.undo(ID));
+		FrogsAndToads game = new FrogsAndToads(3, 5);
+		game.moveAll(SOLUTION, 0, 6, false);
+		assertEquals(game.getEmptySpaceRow(), store.getEmptySpaceRow(ID));
+		assertEquals(game.getEmptySpaceColumn(), store.getEmptySpaceColumn(ID));
+		for(int r = 0; r < 3; r++) {
+			for(int c = 0; c < 5; c++) {
+				assertEquals(game.frogAt(r, c), store.frogAt(ID, r, c));
+			}
+		}
+	}
+
+	@Test
+	public void releasedSlotIsReusedFromTheStart() {
+		GameStore store = new GameStore(3, 3, 1, -1);
+		final int FIRST = store.create();
+		store.create();
+		store.move(FIRST, Solver.solve(3, 3)[0]);
+
+		store.release(FIRST);
+		assertEquals(1, store.size());
+
+		assertEquals(FIRST, store.create());
+		assertEquals(0, store.getUndoDepth(FIRST));
+		assertEquals(2, store.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void doubleReleaseFails() {
+		GameStore store = new GameStore(3, 3, 4);
+		final int ID = store.create();
+		store.release(ID);
+		store.release(ID);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void releaseOfUnusedSlotFails() {
+		GameStore store = new GameStore(3, 3, 4);
+		store.create();
+		store.release(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void releaseOfNegativeIdFails() {
+		new GameStore(3, 3, 4).release(-1);
+	}
+
+}
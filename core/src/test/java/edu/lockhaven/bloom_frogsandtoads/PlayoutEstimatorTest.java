@@ -0,0 +1,114 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the estimates of a seeded estimator with a short budget.
+ */
+public class PlayoutEstimatorTest {
+
+	private final static long BUDGET_MILLIS = 50;
+
+	private PlayoutEstimator estimator;
+
+	@Before
+	public void createEstimator() {
+		this.estimator = new PlayoutEstimator(2, 7);
+	}
+
+	@After
+	public void shutdownEstimator() {
+		this.estimator.shutdown();
+	}
+
+	@Test
+	public void everyLegalMoveIsEstimated() throws InterruptedException {
+		FrogsAndToads game = new FrogsAndToads(3, 5);
+		game.move((byte) Integer.numberOfTrailingZeros(game.getLegalMoveCodes()));
+		final String BEFORE = game.toString();
+
+		List<PlayoutEstimator.Estimate> estimates = this.estimator.estimate(game, PlayoutEstimatorTest.BUDGET_MILLIS);
+		List<int[]> legal = game.getLegalMoves();
+		assertEquals(legal.size(), estimates.size());
+		assertEquals(BEFORE, game.toString());
+
+		for(int[] move : legal) {
+			PlayoutEstimator.Estimate estimate = PlayoutEstimatorTest.find(estimates, move[0], move[1]);
+			assertNotNull("no estimate of " + move[0] + ", " + move[1], estimate);
+			assertTrue(estimate.getPlayouts() > 0);
+			assertTrue(estimate.getWins() <= estimate.getPlayouts());
+			assertTrue(estimate.getLowerBound() <= estimate.getWinRate());
+			assertTrue(estimate.getWinRate() <= estimate.getUpperBound());
+			assertTrue(estimate.getLowerBound() >= 0);
+			assertTrue(estimate.getUpperBound() <= 1);
+		}
+	}
+
+	@Test
+	public void strandedMoveNeverWins() throws InterruptedException {
+		final BidirectionalSolver SOLVER = new BidirectionalSolver(1 << 16);
+
+		//Looks for a position with one move that can still win and one that never can.
+		ArrayDeque<FrogsAndToads> queue = new ArrayDeque<>();
+		queue.add(new FrogsAndToads(3, 3));
+		while(!queue.isEmpty()) {
+			FrogsAndToads game = queue.poll();
+			byte winning = -1;
+			byte losing = -1;
+
+			for(int codes = game.getLegalMoveCodes(); codes != 0; codes &= codes - 1) {
+				final byte CODE = (byte) Integer.numberOfTrailingZeros(codes);
+				FrogsAndToads next = game.fork(false);
+				next.move(CODE, false);
+				if(next.over() || SOLVER.solve(next) != null) {
+					winning = CODE;
+					queue.add(next);
+				} else {
+					assertFalse(SOLVER.isExhausted());
+					losing = CODE;
+				}
+			}
+
+			if(winning < 0 || losing < 0) {
+				continue;
+			}
+
+			List<PlayoutEstimator.Estimate> estimates = this.estimator.estimate(game, PlayoutEstimatorTest.BUDGET_MILLIS);
+			PlayoutEstimator.Estimate lost = PlayoutEstimatorTest.find(estimates,
+					game.getEmptySpaceRow() + Moves.rowOffset(losing),
+					game.getEmptySpaceColumn() + Moves.columnOffset(losing));
+			assertTrue(lost.getPlayouts() > 0);
+			assertEquals(0, lost.getWins());
+			assertEquals(0, lost.getWinRate(), 0);
+			assertEquals(0, lost.getLowerBound(), 0);
+			assertTrue(lost.getUpperBound() < 1);
+			return;
+		}
+
+		fail("3 x 3 has no move that strands a winnable position");
+	}
+
+	/**
+	 * Finds the estimate of the piece moved from a space.
+	 * @param estimates of every legal move.
+	 * @param row of the piece.
+	 * @param column of the piece.
+	 * @return estimate of the move, or null if there is none.
+	 */
+	private static PlayoutEstimator.Estimate find(List<PlayoutEstimator.Estimate> estimates, int row, int column) {
+		for(PlayoutEstimator.Estimate estimate : estimates) {
+			if(estimate.getRow() == row && estimate.getColumn() == column) {
+				return estimate;
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,80 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that positions share unchanged rows and never change once published.
+ */
+public class PositionTest {
+
+	@Test
+	public void moveSharesUnchangedRows() throws Exception {
+		final Position START = Position.of(new FrogsAndToads(5, 5));
+
+		//A frog slides right along the middle row, so only that row is copied.
+		final Position ACROSS = START.move(2, 1);
+		assertNotNull(ACROSS);
+		final char[][] BEFORE = PositionTest.rows(START);
+		char[][] after = PositionTest.rows(ACROSS);
+		for(int r = 0; r < 5; r++) {
+			assertEquals("row " + r, r != 2, BEFORE[r] == after[r]);
+		}
+
+		//A frog slides down into the middle row, so both rows are copied.
+		final Position DOWN = START.move(1, 2);
+		assertNotNull(DOWN);
+		after = PositionTest.rows(DOWN);
+		for(int r = 0; r < 5; r++) {
+			assertEquals("row " + r, r != 1 && r != 2, BEFORE[r] == after[r]);
+		}
+	}
+
+	@Test
+	public void publishedSnapshotNeverChanges() {
+		FrogsAndToads game = new FrogsAndToads(5, 5);
+		final Position FIRST = game.getSnapshot();
+		final long START = PackedBoard.encode(FIRST);
+
+		final byte[] SOLUTION = Solver.solve(5, 5);
+		for(int i = 0; i < 10; i++) {
+			assertTrue(game.move(SOLUTION[i], true));
+			assertEquals(PackedBoard.encode(game), PackedBoard.encode(game.getSnapshot()));
+		}
+		final Position MIDDLE = game.getSnapshot();
+		final long MIDDLE_STATE = PackedBoard.encode(MIDDLE);
+
+		assertTrue(game.undo());
+		assertEquals(-1, game.moveAll(SOLUTION, 9, 20, false));
+
+		assertEquals(START, PackedBoard.encode(FIRST));
+		assertEquals(MIDDLE_STATE, PackedBoard.encode(MIDDLE));
+		assertEquals(PackedBoard.encode(game), PackedBoard.encode(game.getSnapshot()));
+	}
+
+	@Test
+	public void gameFromPositionDoesNotPublish() throws Exception {
+		FrogsAndToads game = Position.of(new FrogsAndToads(3, 3)).toGame();
+		assertTrue(game.move(Solver.solve(3, 3)[0], false));
+
+		Field snapshot = FrogsAndToads.class.getDeclaredField("snapshot");
+		snapshot.setAccessible(true);
+		assertNull(snapshot.get(game));
+	}
+
+	/**
+	 * Reads the rows a position holds, to check which ones are shared.
+	 * @param position to read.
+	 * @return the position's own rows.
+	 * @throws Exception if the rows cannot be read.
+	 */
+	private static char[][] rows(Position position) throws Exception {
+		Field grid = Position.class.getDeclaredField("grid");
+		grid.setAccessible(true);
+		return (char[][]) grid.get(position);
+	}
+
+}
@@ -0,0 +1,67 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks generated puzzles against the shortest solutions found by the solver.
+ */
+public class PuzzleGeneratorTest {
+
+	@Test
+	public void puzzlesAreExactlyTheirDistance() {
+		PuzzleGenerator generator = new PuzzleGenerator(3, 5, 7);
+		BidirectionalSolver solver = new BidirectionalSolver(1 << 20);
+
+		for(int distance = 0; distance <= 16; distance++) {
+			FrogsAndToads puzzle = generator.generate(distance);
+			assertNotNull("distance " + distance, puzzle);
+			assertEquals(distance, solver.solve(puzzle).length);
+			assertEquals(distance, generator.distance(puzzle, distance));
+		}
+	}
+
+	@Test
+	public void distanceMatchesSolver() {
+		PuzzleGenerator generator = new PuzzleGenerator(3, 3, 1);
+		FrogsAndToads game = new FrogsAndToads(3, 3);
+		final byte[] SOLUTION = Solver.solve(3, 3);
+
+		//Every position along the solution is the rest of the solution from winning.
+		for(int i = 0; i <= SOLUTION.length; i++) {
+			assertEquals(SOLUTION.length - i, generator.distance(game, SOLUTION.length));
+			if(i < SOLUTION.length) {
+				assertTrue(game.move(SOLUTION[i], false));
+			}
+		}
+	}
+
+	@Test
+	public void packedKeyMatchesSnapshot() {
+		FrogsAndToads game = new FrogsAndToads(5, 5);
+		final byte[] SOLUTION = Solver.solve(5, 5);
+		for(byte code : SOLUTION) {
+			assertEquals(PackedBoard.encode(Position.of(game)), PackedBoard.encode(game));
+			assertTrue(game.move(code, false));
+		}
+	}
+
+	@Test
+	public void distanceKeepsPreviousMoves() {
+		FrogsAndToads game = new FrogsAndToads(3, 3);
+		assertTrue(game.move((byte) Integer.numberOfTrailingZeros(game.getLegalMoveCodes()), true));
+		final String BEFORE = game.toString();
+
+		assertEquals(11, new PuzzleGenerator(3, 3, 1).distance(game, 20));
+		assertEquals(BEFORE, game.toString());
+		assertTrue(game.undo());
+		assertEquals(new FrogsAndToads(3, 3).toString(), game.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tooLargeBoardFails() {
+		new PuzzleGenerator(9, 9, 1);
+	}
+
+}
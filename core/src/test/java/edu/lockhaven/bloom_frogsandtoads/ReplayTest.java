@@ -0,0 +1,146 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that replays read back the moves they were written with, across block boundaries.
+ */
+public class ReplayTest {
+
+	//Lengths around the block boundary of the writer.
+	private final static int[] LENGTHS = {0, 1, 7, 8, 8191, 8192, 8193, 16384, 20000};
+
+	@Test
+	public void movesReadBackOneAtATime() throws IOException {
+		for(int length : ReplayTest.LENGTHS) {
+			final byte[] CODES = ReplayTest.codes(length);
+			ReplayReader reader = new ReplayReader(new ByteArrayInputStream(ReplayTest.write(CODES, 3, 5)));
+
+			assertEquals(3, reader.getRowLength());
+			assertEquals(5, reader.getColumnLength());
+			for(int i = 0; i < length; i++) {
+				assertEquals("move " + i + " of " + length, CODES[i], reader.read());
+			}
+			assertEquals(-1, reader.read());
+			assertEquals(-1, reader.read());
+		}
+	}
+
+	@Test
+	public void movesReadBackInBatches() throws IOException {
+		for(int length : ReplayTest.LENGTHS) {
+			final byte[] CODES = ReplayTest.codes(length);
+			ReplayReader reader = new ReplayReader(new ByteArrayInputStream(ReplayTest.write(CODES, 5, 5)));
+
+			//An odd batch size makes batches cross the block boundaries.
+			final byte[] READ = new byte[length];
+			int total = 0;
+			int read;
+			while((read = reader.read(READ, total, Math.min(1000, length - total + 1))) > 0) {
+				total += read;
+			}
+			assertEquals(length, total);
+			assertArrayEquals(CODES, READ);
+		}
+	}
+
+	@Test
+	public void fullBlockIsWrittenOnce() throws IOException {
+		final byte[] REPLAY = ReplayTest.write(ReplayTest.codes(ReplayWriter.BLOCK_MOVES), 3, 3);
+
+		//Header, a two byte count, the packed moves and the empty last block.
+		assertEquals(12 + 2 + ReplayWriter.BLOCK_MOVES * 3 / 8 + 1, REPLAY.length);
+	}
+
+	@Test
+	public void flushKeepsMovesInOrder() throws IOException {
+		final byte[] CODES = ReplayTest.codes(100);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(ReplayWriter writer = new ReplayWriter(out, 3, 3)) {
+			writer.write(CODES, 0, 30);
+			writer.flush();
+			writer.write(CODES, 30, 70);
+		}
+
+		ReplayReader reader = new ReplayReader(new ByteArrayInputStream(out.toByteArray()));
+		final byte[] READ = new byte[200];
+		int total = 0;
+		int read;
+		while((read = reader.read(READ, total, READ.length - total)) > 0) {
+			total += read;
+		}
+		assertEquals(100, total);
+		assertArrayEquals(CODES, Arrays.copyOf(READ, total));
+	}
+
+	@Test(expected = EOFException.class)
+	public void cutShortReplayFails() throws IOException {
+		final byte[] REPLAY = ReplayTest.write(ReplayTest.codes(10), 3, 3);
+		ReplayReader reader = new ReplayReader(new ByteArrayInputStream(Arrays.copyOf(REPLAY, REPLAY.length - 1)));
+		while(reader.read() >= 0) {
+			//Reads until the missing end block is found.
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void negativeBlockCountFails() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ReplayWriter(out, 3, 3).flush();
+
+		//Five count bytes that set the sign bit.
+		out.write(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08});
+		new ReplayReader(new ByteArrayInputStream(out.toByteArray())).read();
+	}
+
+	@Test(expected = IOException.class)
+	public void writeAfterCloseFails() throws IOException {
+		ReplayWriter writer = new ReplayWriter(new ByteArrayOutputStream(), 3, 3);
+		writer.close();
+		writer.write(1);
+	}
+
+	@Test(expected = IOException.class)
+	public void otherFileFails() throws IOException {
+		new ReplayReader(new ByteArrayInputStream(new byte[12]));
+	}
+
+	/**
+	 * Creates repeatable random move codes.
+	 * @param length is the number of codes.
+	 * @return the codes.
+	 */
+	private static byte[] codes(int length) {
+		final Random RANDOM = new Random(length);
+		final byte[] CODES = new byte[length];
+		for(int i = 0; i < length; i++) {
+			CODES[i] = (byte) RANDOM.nextInt(Moves.COUNT);
+		}
+		return CODES;
+	}
+
+	/**
+	 * Writes moves as a replay in memory.
+	 * @param codes of the moves.
+	 * @param rows is the vertical length of the board.
+	 * @param columns is the horizontal length of the board.
+	 * @return the replay.
+	 * @throws IOException never for memory.
+	 */
+	private static byte[] write(byte[] codes, int rows, int columns) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(ReplayWriter writer = new ReplayWriter(out, rows, columns)) {
+			writer.write(codes, 0, codes.length);
+		}
+		return out.toByteArray();
+	}
+
+}
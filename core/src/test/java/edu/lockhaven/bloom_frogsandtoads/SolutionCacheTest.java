@@ -0,0 +1,138 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that solutions survive reopening and that the least recently used are dropped first.
+ */
+public class SolutionCacheTest {
+
+	//Every solution here takes one header and two bytes of moves.
+	private final static byte[] MOVES = {1, 2, 3, 4};
+	private final static long RECORD = 4 + 4 + 8 + 4 + 2;
+
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		this.file = File.createTempFile("solutions", ".bin");
+	}
+
+	@After
+	public void deleteFile() {
+		this.file.delete();
+		new File(this.file.getPath() + ".lru").delete();
+		new File(this.file.getPath() + ".tmp").delete();
+	}
+
+	@Test
+	public void solutionsSurviveReopening() throws IOException {
+		try(SolutionCache cache = new SolutionCache(this.file, 1024)) {
+			cache.put(3, 3, 7L, SolutionCacheTest.MOVES);
+			cache.put(5, 5, 9L, new byte[]{5, 6, 7});
+		}
+		try(SolutionCache cache = new SolutionCache(this.file, 1024)) {
+			assertArrayEquals(SolutionCacheTest.MOVES, cache.get(3, 3, 7L));
+			assertArrayEquals(new byte[]{5, 6, 7}, cache.get(5, 5, 9L));
+			assertNull(cache.get(3, 3, 8L));
+		}
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsed() throws IOException {
+		try(SolutionCache cache = new SolutionCache(this.file, SolutionCacheTest.RECORD * 3)) {
+			cache.put(3, 3, 1L, SolutionCacheTest.MOVES);
+			cache.put(3, 3, 2L, SolutionCacheTest.MOVES);
+			cache.put(3, 3, 3L, SolutionCacheTest.MOVES);
+
+			//Using the oldest makes the second one the least recently used.
+			assertNotNull(cache.get(3, 3, 1L));
+			cache.put(3, 3, 4L, SolutionCacheTest.MOVES);
+
+			assertNull(cache.get(3, 3, 2L));
+			assertNotNull(cache.get(3, 3, 1L));
+			assertNotNull(cache.get(3, 3, 3L));
+			assertArrayEquals(SolutionCacheTest.MOVES, cache.get(3, 3, 4L));
+		}
+		assertEquals(SolutionCacheTest.RECORD * 3, this.file.length());
+	}
+
+	@Test
+	public void putOfStoredSolutionMarksItUsed() throws IOException {
+		try(SolutionCache cache = new SolutionCache(this.file, SolutionCacheTest.RECORD * 3)) {
+			cache.put(3, 3, 1L, SolutionCacheTest.MOVES);
+			cache.put(3, 3, 2L, SolutionCacheTest.MOVES);
+			cache.put(3, 3, 3L, SolutionCacheTest.MOVES);
+
+			//Storing the oldest again makes the second one the least recently used.
+			cache.put(3, 3, 1L, SolutionCacheTest.MOVES);
+			cache.put(3, 3, 4L, SolutionCacheTest.MOVES);
+
+			assertNull(cache.get(3, 3, 2L));
+			assertNotNull(cache.get(3, 3, 1L));
+		}
+		assertEquals(SolutionCacheTest.RECORD * 3, this.file.length());
+	}
+
+	@Test
+	public void failedRewriteKeepsOnlyLiveSolutions() throws IOException {
+		//Takes the room of two of the others, so dropping it makes room for two more.
+		final byte[] LONG = new byte[48];
+		final File BLOCKER = new File(this.file, "blocker");
+
+		try(SolutionCache cache = new SolutionCache(this.file, SolutionCacheTest.RECORD * 4)) {
+			cache.put(3, 3, 1L, LONG);
+			cache.put(3, 3, 2L, SolutionCacheTest.MOVES);
+			cache.put(3, 3, 3L, SolutionCacheTest.MOVES);
+
+			//A directory in place of the file makes the rewrite fail to be swapped in,
+			//	while the open file can still be read and written.
+			assumeTrue(this.file.delete());
+			assertTrue(this.file.mkdir());
+			assertTrue(BLOCKER.createNewFile());
+
+			try {
+				cache.put(3, 3, 4L, SolutionCacheTest.MOVES);
+				fail("rewrite was swapped in");
+			} catch (IOException e) {
+				assertTrue(e.getMessage(), e.getMessage().startsWith("Could not replace"));
+			}
+
+			//The long solution was dropped, so the next one fits without another rewrite.
+			assertNull(cache.get(3, 3, 1L));
+			cache.put(3, 3, 5L, SolutionCacheTest.MOVES);
+			for(long position = 2; position <= 5; position++) {
+				assertArrayEquals(SolutionCacheTest.MOVES, cache.get(3, 3, position));
+			}
+		} finally {
+			BLOCKER.delete();
+			this.file.delete();
+		}
+	}
+
+	@Test
+	public void recencySurvivesReopening() throws IOException {
+		try(SolutionCache cache = new SolutionCache(this.file, SolutionCacheTest.RECORD * 3)) {
+			cache.put(3, 3, 1L, SolutionCacheTest.MOVES);
+			cache.put(3, 3, 2L, SolutionCacheTest.MOVES);
+			cache.put(3, 3, 3L, SolutionCacheTest.MOVES);
+			assertNotNull(cache.get(3, 3, 1L));
+		}
+
+		//The first solution was used last, so the second is dropped instead.
+		try(SolutionCache cache = new SolutionCache(this.file, SolutionCacheTest.RECORD * 3)) {
+			cache.put(3, 3, 4L, SolutionCacheTest.MOVES);
+			assertNull(cache.get(3, 3, 2L));
+			assertNotNull(cache.get(3, 3, 1L));
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package edu.lockhaven.bloom_frogsandtoads;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the results the verifier gives for replays and moves in memory.
+ */
+public class SolutionVerifierTest {
+
+	@Test
+	public void solutionIsSolved() throws IOException {
+		final byte[] SOLUTION = Solver.solve(3, 3);
+		SolutionVerifier.Result result = new SolutionVerifier(3, 3).verify(SolutionVerifierTest.replay(SOLUTION, 3, 3));
+
+		assertTrue(result.isSolved());
+		assertEquals(12, result.getMoves());
+		assertEquals(-1, result.getIllegalMove());
+		assertEquals("solved in 12 moves", result.toString());
+	}
+
+	@Test
+	public void unfinishedSolutionIsNotSolved() throws IOException {
+		final byte[] PART = Arrays.copyOf(Solver.solve(3, 5), 6);
+		SolutionVerifier.Result result = new SolutionVerifier(3, 5).verify(SolutionVerifierTest.replay(PART, 3, 5));
+
+		assertFalse(result.isSolved());
+		assertEquals(6, result.getMoves());
+		assertEquals(-1, result.getIllegalMove());
+		assertEquals("not solved after 6 moves", result.toString());
+	}
+
+	@Test
+	public void illegalMoveIsFound() throws IOException {
+		final byte[] CODES = SolutionVerifierTest.breakMove(Solver.solve(3, 3), 3, 3, 5);
+		SolutionVerifier.Result result = new SolutionVerifier(3, 3).verify(SolutionVerifierTest.replay(CODES, 3, 3));
+
+		assertFalse(result.isSolved());
+		assertEquals(5, result.getMoves());
+		assertEquals(5, result.getIllegalMove());
+		assertEquals("illegal move at 5", result.toString());
+	}
+
+	@Test
+	public void illegalMoveIsFoundAfterManyBlocks() throws IOException {
+		//The move is past both a replay block and a verifier batch.
+		final byte[] SOLUTION = Solver.solve(41, 41);
+		assertTrue(SOLUTION.length > 9000);
+		final byte[] CODES = SolutionVerifierTest.breakMove(SOLUTION, 41, 41, 9000);
+
+		SolutionVerifier verifier = new SolutionVerifier(41, 41);
+		assertEquals(9000, verifier.verify(SolutionVerifierTest.replay(CODES, 41, 41)).getIllegalMove());
+		assertTrue(verifier.verify(SolutionVerifierTest.replay(SOLUTION, 41, 41)).isSolved());
+	}
+
+	@Test
+	public void illegalMoveIsCountedFromOffset() {
+		final byte[] SOLUTION = SolutionVerifierTest.breakMove(Solver.solve(3, 3), 3, 3, 7);
+		final byte[] CODES = new byte[SOLUTION.length + 4];
+		System.arraycopy(SOLUTION, 0, CODES, 4, SOLUTION.length);
+
+		SolutionVerifier.Result result = new SolutionVerifier(3, 3).verify(CODES, 4, SOLUTION.length);
+		assertEquals(7, result.getIllegalMove());
+		assertEquals(7, result.getMoves());
+	}
+
+	@Test(expected = IOException.class)
+	public void otherBoardSizeFails() throws IOException {
+		new SolutionVerifier(3, 3).verify(SolutionVerifierTest.replay(Solver.solve(3, 5), 3, 5));
+	}
+
+	/**
+	 * Replaces one move with a move that is illegal at that point.
+	 * @param solution is left unchanged.
+	 * @param rows is the vertical length of the board.
+	 * @param columns is the horizontal length of the board.
+	 * @param index of the move to replace.
+	 * @return a copy of the solution with the illegal move.
+	 */
+	private static byte[] breakMove(byte[] solution, int rows, int columns, int index) {
+		FrogsAndToads game = new FrogsAndToads(rows, columns);
+		assertEquals(-1, game.moveAll(solution, 0, index, false));
+
+		final int ILLEGAL = Integer.numberOfTrailingZeros(~game.getLegalMoveCodes());
+		assertTrue(ILLEGAL < Moves.COUNT);
+
+		final byte[] CODES = solution.clone();
+		CODES[index] = (byte) ILLEGAL;
+		return CODES;
+	}
+
+	/**
+	 * Writes moves as a replay in memory.
+	 * @param codes of the moves.
+	 * @param rows is the vertical length of the board.
+	 * @param columns is the horizontal length of the board.
+	 * @return stream holding the replay.
+	 * @throws IOException never for memory.
+	 */
+	private static ByteArrayInputStream replay(byte[] codes, int rows, int columns) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(ReplayWriter writer = new ReplayWriter(out, rows, columns)) {
+			writer.write(codes, 0, codes.length);
+		}
+		return new ByteArrayInputStream(out.toByteArray());
+	}
+
+}
@@ -0,0 +1,214 @@
+package edu.lockhaven.bloom_frogsandtoads.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless frogs and toads server.
+ * Hosts game sessions over HTTP on the loopback address so bots and load
+ *  tests can play without the Android app. Requests are handled by a small
+ *  fixed pool of threads. Run it with -Dsun.net.httpserver.nodelay=true, as
+ *  the application in server/build.gradle does, or small responses wait on
+ *  delayed acknowledgements.
+ * <pre>
+ * POST   /games?rows=5&amp;columns=5          starts a game and returns its board
+ * GET    /games/{id}                        returns the board
+ * POST   /games/{id}/move?row=1&amp;column=2   makes a move and returns the changed spaces
+ * POST   /games/{id}/undo                   undoes a move and returns the changed spaces
+ * DELETE /games/{id}                        ends a game
+ * </pre>
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class GameServer {
+
+	private final static int DEFAULT_PORT = 8080;
+	private final static int LOCK_STRIPES = 256;
+	private final static int BACKLOG = 1024;
+
+	//Largest number of rows or columns a game may have.
+	private final static int MAX_SIZE = 51;
+
+	private final SessionStore sessions = new SessionStore(GameServer.LOCK_STRIPES);
+	private final HttpServer server;
+	private final ExecutorService pool;
+
+	/**
+	 * Creates a server.
+	 * @param port to listen on.
+	 * @param threads is the number of requests handled at once.
+	 * @throws IOException if the port cannot be opened.
+	 */
+	public GameServer(int port, int threads) throws IOException {
+		this.pool = Executors.newFixedThreadPool(threads);
+		this.server = HttpServer.create(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), port), GameServer.BACKLOG);
+		this.server.createContext("/games", this::handle);
+		this.server.setExecutor(this.pool);
+	}
+
+	/**
+	 * Starts accepting requests.
+	 */
+	public void start() {
+		this.server.start();
+	}
+
+	/**
+	 * Stops accepting requests and ends the worker threads.
+	 */
+	public void stop() {
+		this.server.stop(0);
+		this.pool.shutdownNow();
+	}
+
+	/**
+	 * Routes a request to the session store.
+	 * @param exchange is the request and response.
+	 * @throws IOException if the response cannot be sent.
+	 */
+	private void handle(HttpExchange exchange) throws IOException {
+
+		final String METHOD = exchange.getRequestMethod();
+		final String[] PATH = exchange.getRequestURI().getPath().split("/");
+		final Map<String, String> QUERY = GameServer.query(exchange.getRequestURI().getRawQuery());
+
+		try {
+			//The context also matches paths that only start with "/games".
+			if(PATH.length < 2 || !PATH[1].equals("games")) {
+				GameServer.send(exchange, 404, "{\"error\":\"not found\"}");
+				return;
+			}
+
+			//Paths split into "", "games", the id and the action.
+			if(PATH.length == 2 && METHOD.equals("POST")) {
+				final int ROWS = GameServer.number(QUERY, "rows", 5);
+				final int COLUMNS = GameServer.number(QUERY, "columns", 5);
+				if(!GameServer.validSize(ROWS) || !GameServer.validSize(COLUMNS)) {
+					GameServer.send(exchange, 400, "{\"error\":\"rows and columns must be odd and from 1 to "
+							+ GameServer.MAX_SIZE + "\"}");
+					return;
+				}
+				long id = this.sessions.create(ROWS, COLUMNS);
+				GameServer.send(exchange, 201, this.sessions.state(id));
+				return;
+			}
+
+			if(PATH.length < 3) {
+				GameServer.send(exchange, 404, "{\"error\":\"not found\"}");
+				return;
+			}
+
+			final long ID = Long.parseLong(PATH[2]);
+			final String ACTION = PATH.length > 3 ? PATH[3] : "";
+			String body;
+
+			if(ACTION.isEmpty() && METHOD.equals("GET")) {
+				body = this.sessions.state(ID);
+			} else if(ACTION.isEmpty() && METHOD.equals("DELETE")) {
+				body = this.sessions.remove(ID) ? "{\"ok\":true}" : null;
+			} else if(ACTION.equals("move") && METHOD.equals("POST")) {
+				body = this.sessions.move(ID,
+						GameServer.number(QUERY, "row", -1), GameServer.number(QUERY, "column", -1));
+			} else if(ACTION.equals("undo") && METHOD.equals("POST")) {
+				body = this.sessions.undo(ID);
+			} else {
+				GameServer.send(exchange, 405, "{\"error\":\"method not allowed\"}");
+				return;
+			}
+
+			if(body == null) {
+				GameServer.send(exchange, 404, "{\"error\":\"no such game\"}");
+			} else {
+				GameServer.send(exchange, 200, body);
+			}
+
+		} catch (NumberFormatException e) {
+			GameServer.send(exchange, 400, "{\"error\":\"bad number\"}");
+		} catch (RuntimeException e) {
+			//Every request gets a response, even when something unexpected fails.
+			GameServer.send(exchange, 500, "{\"error\":\"internal error\"}");
+		}
+	}
+
+	/**
+	 * Returns true if a game may have this many rows or columns.
+	 * @param size is the number of rows or columns.
+	 * @return if the size is odd and in range.
+	 */
+	private static boolean validSize(int size) {
+		return size >= 1 && size <= GameServer.MAX_SIZE && size % 2 == 1;
+	}
+
+	/**
+	 * Sends a JSON response.
+	 * @param exchange is the request and response.
+	 * @param status is the HTTP status code.
+	 * @param body is the JSON to send.
+	 * @throws IOException if the response cannot be sent.
+	 */
+	private static void send(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try(OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Splits a query string into its parameters.
+	 * @param query is the raw query string, which may be null.
+	 * @return parameters by name.
+	 */
+	private static Map<String, String> query(String query) {
+		Map<String, String> parameters = new HashMap<>();
+		if(query != null) {
+			for(String pair : query.split("&")) {
+				int equals = pair.indexOf('=');
+				if(equals > 0) {
+					parameters.put(pair.substring(0, equals), pair.substring(equals + 1));
+				}
+			}
+		}
+		return parameters;
+	}
+
+	/**
+	 * Retrieves a number parameter.
+	 * @param query are the parameters.
+	 * @param name of the parameter.
+	 * @param fallback is used if the parameter is missing.
+	 * @return value of the parameter.
+	 */
+	private static int number(Map<String, String> query, String name, int fallback) {
+		String value = query.get(name);
+		return value == null ? fallback : Integer.parseInt(value);
+	}
+
+	/**
+	 * Runs the server until the process is stopped.
+	 * @param args are the optional port and number of threads.
+	 * @throws IOException if the port cannot be opened.
+	 */
+	public static void main(String[] args) throws IOException {
+		final int PORT = args.length > 0 ? Integer.parseInt(args[0]) : GameServer.DEFAULT_PORT;
+		final int THREADS = args.length > 1 ? Integer.parseInt(args[1])
+				: Runtime.getRuntime().availableProcessors() * 2;
+
+		GameServer server = new GameServer(PORT, THREADS);
+		server.start();
+		System.out.println("Frogs and toads server listening on port " + PORT + " with " + THREADS + " threads.");
+	}
+
+}
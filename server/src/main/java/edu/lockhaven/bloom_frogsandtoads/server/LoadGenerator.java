@@ -0,0 +1,258 @@
+package edu.lockhaven.bloom_frogsandtoads.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import edu.lockhaven.bloom_frogsandtoads.FrogsAndToads;
+import edu.lockhaven.bloom_frogsandtoads.Moves;
+
+/**
+ * Plays many games against a running {@link GameServer} and reports latency.
+ * Every client thread owns a share of the sessions and keeps its own copy of
+ *  each game, so it always sends legal moves, and undoes when a game is stuck.
+ *  A move or undo the server rejects means the copies have drifted apart, so
+ *  that client stops and is reported as failed instead of timed.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class LoadGenerator {
+
+	private final static Pattern ID = Pattern.compile("\"id\":(\\d+)");
+	private final static Pattern OK = Pattern.compile("\"ok\":true\\b");
+
+	private final String base;
+	private final int sessions;
+	private final int clients;
+	private final long durationNanos;
+
+	/**
+	 * Creates a load generator.
+	 * @param port of the server.
+	 * @param sessions is the number of games played.
+	 * @param clients is the number of threads sending requests.
+	 * @param seconds is how long to send requests.
+	 */
+	public LoadGenerator(int port, int sessions, int clients, int seconds) {
+		this.base = "http://127.0.0.1:" + port + "/games";
+		this.sessions = sessions;
+		this.clients = clients;
+		this.durationNanos = seconds * 1_000_000_000L;
+	}
+
+	/**
+	 * Runs the load test and prints the results.
+	 * @param rows is the vertical length of every game.
+	 * @param columns is the horizontal length of every game.
+	 * @throws Exception if the server cannot be reached.
+	 */
+	public void run(int rows, int columns) throws Exception {
+
+		//Starts every session before timing anything.
+		final long[] IDS = new long[this.sessions];
+		for(int i = 0; i < this.sessions; i++) {
+			Matcher matcher = LoadGenerator.ID.matcher(
+					this.request("POST", "?rows=" + rows + "&columns=" + columns));
+			if(!matcher.find()) {
+				throw new IOException("Server did not return a game id.");
+			}
+			IDS[i] = Long.parseLong(matcher.group(1));
+		}
+
+		final long START = System.nanoTime();
+		final long DEADLINE = START + this.durationNanos;
+		final long[][] LATENCIES = new long[this.clients][];
+		final int[] COUNTS = new int[this.clients];
+		final Exception[] FAILURES = new Exception[this.clients];
+
+		List<Thread> threads = new ArrayList<>();
+		for(int t = 0; t < this.clients; t++) {
+			final int CLIENT = t;
+			Thread thread = new Thread(() -> {
+				try {
+					this.play(IDS, CLIENT, rows, columns, DEADLINE, LATENCIES, COUNTS);
+				} catch (IOException | RuntimeException e) {
+					//Recorded so the other clients are still reported.
+					FAILURES[CLIENT] = e;
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+
+		final double SECONDS = (System.nanoTime() - START) / 1e9;
+
+		//Merges the latencies of every client that finished and sorts them for the percentiles.
+		int total = 0;
+		int failed = 0;
+		for(int t = 0; t < this.clients; t++) {
+			if(FAILURES[t] != null || LATENCIES[t] == null) {
+				++failed;
+			} else {
+				total += COUNTS[t];
+			}
+		}
+		long[] all = new long[total];
+		for(int t = 0, offset = 0; t < this.clients; t++) {
+			if(FAILURES[t] == null && LATENCIES[t] != null) {
+				System.arraycopy(LATENCIES[t], 0, all, offset, COUNTS[t]);
+				offset += COUNTS[t];
+			}
+		}
+		Arrays.sort(all);
+
+		//Reports every failed client instead of hiding them in the totals.
+		for(int t = 0; t < this.clients; t++) {
+			if(FAILURES[t] != null) {
+				System.err.println("Client " + t + " failed: " + FAILURES[t]);
+			}
+		}
+		if(failed > 0) {
+			System.out.printf("failed clients=%d of %d%n", failed, this.clients);
+		}
+
+		System.out.printf("sessions=%d clients=%d requests=%d seconds=%.1f%n",
+				this.sessions, this.clients, total, SECONDS);
+		System.out.printf("throughput=%.0f requests/s p50=%.3f ms p99=%.3f ms max=%.3f ms%n",
+				total / SECONDS,
+				LoadGenerator.percentile(all, 0.50) / 1e6,
+				LoadGenerator.percentile(all, 0.99) / 1e6,
+				total == 0 ? 0 : all[total - 1] / 1e6);
+	}
+
+	/**
+	 * Plays this client's share of the sessions until the deadline.
+	 * @param ids of every session.
+	 * @param client is the index of this client.
+	 * @param rows is the vertical length of every game.
+	 * @param columns is the horizontal length of every game.
+	 * @param deadline is the System.nanoTime() to stop at.
+	 * @param latencies receives this client's latencies.
+	 * @param counts receives this client's number of requests.
+	 * @throws IOException if the server cannot be reached or rejects a move.
+	 */
+	private void play(long[] ids, int client, int rows, int columns, long deadline,
+					  long[][] latencies, int[] counts) throws IOException {
+
+		//Keeps a local copy of every game this client plays.
+		List<Integer> owned = new ArrayList<>();
+		for(int i = client; i < ids.length; i += this.clients) {
+			owned.add(i);
+		}
+		if(owned.isEmpty()) {
+			latencies[client] = new long[0];
+			return;
+		}
+		FrogsAndToads[] games = new FrogsAndToads[owned.size()];
+		for(int i = 0; i < games.length; i++) {
+			games[i] = new FrogsAndToads(rows, columns);
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long[] times = new long[1024];
+		int count = 0;
+
+		for(int turn = 0; System.nanoTime() < deadline; turn++) {
+			final int INDEX = turn % games.length;
+			final FrogsAndToads GAME = games[INDEX];
+			final String PATH = "/" + ids[owned.get(INDEX)];
+
+			//Picks a random legal move, or undoes when there are none.
+			int legal = GAME.getLegalMoveCodes();
+			String action;
+			if(legal == 0) {
+				GAME.undo();
+				action = PATH + "/undo";
+			} else {
+				int pick = random.nextInt(Integer.bitCount(legal));
+				while(pick-- > 0) {
+					legal &= legal - 1;
+				}
+				final int CODE = Integer.numberOfTrailingZeros(legal);
+				final int ROW = GAME.getEmptySpaceRow() + Moves.rowOffset(CODE);
+				final int COLUMN = GAME.getEmptySpaceColumn() + Moves.columnOffset(CODE);
+				GAME.move(ROW, COLUMN);
+				action = PATH + "/move?row=" + ROW + "&column=" + COLUMN;
+			}
+
+			long start = System.nanoTime();
+			final String BODY = this.request("POST", action);
+			long latency = System.nanoTime() - start;
+
+			//A rejected move means the local copy no longer matches the server.
+			if(!LoadGenerator.OK.matcher(BODY).find()) {
+				throw new IOException("Server rejected " + action + ": " + BODY);
+			}
+
+			if(count == times.length) {
+				times = Arrays.copyOf(times, count * 2);
+			}
+			times[count++] = latency;
+		}
+
+		latencies[client] = times;
+		counts[client] = count;
+	}
+
+	/**
+	 * Sends a request and reads the whole response.
+	 * @param method is the HTTP method.
+	 * @param path after /games.
+	 * @return response body.
+	 * @throws IOException if the server cannot be reached.
+	 */
+	private String request(String method, String path) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(this.base + path).openConnection();
+		connection.setRequestMethod(method);
+
+		StringBuilder builder = new StringBuilder();
+		byte[] buffer = new byte[4096];
+		try(InputStream in = connection.getInputStream()) {
+			int read;
+			while((read = in.read(buffer)) != -1) {
+				builder.append(new String(buffer, 0, read, "UTF-8"));
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Retrieves a percentile from sorted values.
+	 * @param sorted are the values in ascending order.
+	 * @param fraction is the percentile between 0 and 1.
+	 * @return value at the percentile.
+	 */
+	private static long percentile(long[] sorted, double fraction) {
+		if(sorted.length == 0) {
+			return 0;
+		}
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1)];
+	}
+
+	/**
+	 * Runs a load test.
+	 * @param args are the port, sessions, clients, seconds, rows and columns.
+	 * @throws Exception if the server cannot be reached.
+	 */
+	public static void main(String[] args) throws Exception {
+		final int PORT = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+		final int SESSIONS = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		final int CLIENTS = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+		final int SECONDS = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+		final int ROWS = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+		final int COLUMNS = args.length > 5 ? Integer.parseInt(args[5]) : ROWS;
+
+		new LoadGenerator(PORT, SESSIONS, CLIENTS, SECONDS).run(ROWS, COLUMNS);
+	}
+
+}
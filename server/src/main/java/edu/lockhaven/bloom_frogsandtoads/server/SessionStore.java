@@ -0,0 +1,206 @@
+package edu.lockhaven.bloom_frogsandtoads.server;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.lockhaven.bloom_frogsandtoads.FrogsAndToads;
+
+/**
+ * Holds every game session of the server.
+ * A game is not thread safe, so each session is guarded by one of a fixed
+ *  number of locks picked from its id. Requests for different sessions rarely
+ *  share a lock and no lock is ever held across the whole store.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class SessionStore {
+
+	private final ConcurrentHashMap<Long, FrogsAndToads> games = new ConcurrentHashMap<>();
+	private final AtomicLong nextId = new AtomicLong(1);
+	private final Object[] locks;
+
+	/**
+	 * Creates an empty store.
+	 * @param stripes is the number of locks, rounded up to a power of two.
+	 */
+	public SessionStore(int stripes) {
+		int length = 1;
+		while(length < stripes) {
+			length <<= 1;
+		}
+
+		this.locks = new Object[length];
+		for(int i = 0; i < length; i++) {
+			this.locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Starts a new game.
+	 * @param rows is the vertical length.
+	 * @param columns is the horizontal length.
+	 * @return id of the session.
+	 */
+	public long create(int rows, int columns) {
+		long id = this.nextId.getAndIncrement();
+		this.games.put(id, new FrogsAndToads(rows, columns));
+		return id;
+	}
+
+	/**
+	 * Ends a game.
+	 * @param id of the session.
+	 * @return true if the session existed.
+	 */
+	public boolean remove(long id) {
+		return this.games.remove(id) != null;
+	}
+
+	/**
+	 * Retrieves the number of sessions.
+	 * @return number of games being played.
+	 */
+	public int size() {
+		return this.games.size();
+	}
+
+	/**
+	 * Describes the whole board of a session.
+	 * @param id of the session.
+	 * @return board as JSON, or null if there is no such session.
+	 */
+	public String state(long id) {
+
+		FrogsAndToads game = this.games.get(id);
+		if(game == null) {
+			return null;
+		}
+
+		synchronized(this.lock(id)) {
+			StringBuilder builder = new StringBuilder();
+			builder.append("{\"id\":").append(id)
+					.append(",\"rows\":").append(game.getRowLength())
+					.append(",\"columns\":").append(game.getColumnLength())
+					.append(",\"board\":[");
+
+			//Writes every row as a string of spaces.
+			for(int r = 0; r < game.getRowLength(); r++) {
+				builder.append(r == 0 ? "\"" : ",\"");
+				for(int c = 0; c < game.getColumnLength(); c++) {
+					builder.append(SessionStore.space(game, r, c));
+				}
+				builder.append('"');
+			}
+
+			builder.append("],\"over\":").append(game.over())
+					.append(",\"canMove\":").append(game.canMove())
+					.append('}');
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * Makes a move in a session.
+	 * @param id of the session.
+	 * @param row of the cell to be swapped with the empty space.
+	 * @param column of the cell to be swapped with the empty space.
+	 * @return changed spaces as JSON, or null if there is no such session.
+	 */
+	public String move(long id, int row, int column) {
+
+		FrogsAndToads game = this.games.get(id);
+		if(game == null) {
+			return null;
+		}
+
+		synchronized(this.lock(id)) {
+			final int EMPTY_ROW = game.getEmptySpaceRow();
+			final int EMPTY_COLUMN = game.getEmptySpaceColumn();
+			return SessionStore.diff(game, game.move(row, column), EMPTY_ROW, EMPTY_COLUMN);
+		}
+	}
+
+	/**
+	 * Undoes the most recent move in a session.
+	 * @param id of the session.
+	 * @return changed spaces as JSON, or null if there is no such session.
+	 */
+	public String undo(long id) {
+
+		FrogsAndToads game = this.games.get(id);
+		if(game == null) {
+			return null;
+		}
+
+		synchronized(this.lock(id)) {
+			final int EMPTY_ROW = game.getEmptySpaceRow();
+			final int EMPTY_COLUMN = game.getEmptySpaceColumn();
+			return SessionStore.diff(game, game.undo(), EMPTY_ROW, EMPTY_COLUMN);
+		}
+	}
+
+	/**
+	 * Retrieves the lock of a session.
+	 * @param id of the session.
+	 * @return lock shared by every session in the same stripe.
+	 */
+	private Object lock(long id) {
+		return this.locks[(int) (id ^ (id >>> 32)) & (this.locks.length - 1)];
+	}
+
+	/**
+	 * Describes the spaces changed by a move or undo.
+	 * Only the old and new empty spaces change, so those are the only two sent.
+	 * @param game after the change.
+	 * @param ok is true if the change was made.
+	 * @param emptyRow is the row of the empty space before the change.
+	 * @param emptyColumn is the column of the empty space before the change.
+	 * @return changed spaces as JSON.
+	 */
+	private static String diff(FrogsAndToads game, boolean ok, int emptyRow, int emptyColumn) {
+
+		StringBuilder builder = new StringBuilder();
+		builder.append("{\"ok\":").append(ok).append(",\"changes\":[");
+
+		if(ok) {
+			SessionStore.change(builder, game, emptyRow, emptyColumn).append(',');
+			SessionStore.change(builder, game, game.getEmptySpaceRow(), game.getEmptySpaceColumn());
+		}
+
+		builder.append("],\"over\":").append(game.over())
+				.append(",\"canMove\":").append(game.canMove())
+				.append('}');
+		return builder.toString();
+	}
+
+	/**
+	 * Describes a single space.
+	 * @param builder to append to.
+	 * @param game being described.
+	 * @param row of the space.
+	 * @param column of the space.
+	 * @return the builder.
+	 */
+	private static StringBuilder change(StringBuilder builder, FrogsAndToads game, int row, int column) {
+		return builder.append("{\"row\":").append(row)
+				.append(",\"column\":").append(column)
+				.append(",\"space\":\"").append(SessionStore.space(game, row, column)).append("\"}");
+	}
+
+	/**
+	 * Retrieves the character of a space.
+	 * @param game being described.
+	 * @param row of the space.
+	 * @param column of the space.
+	 * @return F, T or -.
+	 */
+	private static char space(FrogsAndToads game, int row, int column) {
+		if(game.frogAt(row, column)) {
+			return 'F';
+		} else if(game.toadAt(row, column)) {
+			return 'T';
+		}
+		return '-';
+	}
+
+}
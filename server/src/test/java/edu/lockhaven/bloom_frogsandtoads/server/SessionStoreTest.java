@@ -0,0 +1,62 @@
+package edu.lockhaven.bloom_frogsandtoads.server;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the JSON the session store gives for each request, without a server.
+ */
+public class SessionStoreTest {
+
+	@Test
+	public void newGameState() {
+		SessionStore store = new SessionStore(4);
+		final long ID = store.create(3, 3);
+
+		assertEquals(1, store.size());
+		assertEquals("{\"id\":" + ID + ",\"rows\":3,\"columns\":3,\"board\":[\"FFF\",\"F-T\",\"TTT\"],"
+				+ "\"over\":false,\"canMove\":true}", store.state(ID));
+	}
+
+	@Test
+	public void moveAndUndoSendChangedSpaces() {
+		SessionStore store = new SessionStore(4);
+		final long ID = store.create(3, 3);
+
+		//The frog left of the empty space slides into it.
+		assertEquals("{\"ok\":true,\"changes\":[{\"row\":1,\"column\":1,\"space\":\"F\"},"
+				+ "{\"row\":1,\"column\":0,\"space\":\"-\"}],\"over\":false,\"canMove\":true}", store.move(ID, 1, 0));
+		assertTrue(store.state(ID).contains("\"board\":[\"FFF\",\"-FT\",\"TTT\"]"));
+
+		assertEquals("{\"ok\":true,\"changes\":[{\"row\":1,\"column\":0,\"space\":\"F\"},"
+				+ "{\"row\":1,\"column\":1,\"space\":\"-\"}],\"over\":false,\"canMove\":true}", store.undo(ID));
+		assertTrue(store.state(ID).contains("\"board\":[\"FFF\",\"F-T\",\"TTT\"]"));
+	}
+
+	@Test
+	public void rejectedChangesSendNothing() {
+		SessionStore store = new SessionStore(4);
+		final long ID = store.create(3, 3);
+
+		assertEquals("{\"ok\":false,\"changes\":[],\"over\":false,\"canMove\":true}", store.move(ID, 0, 0));
+		assertEquals("{\"ok\":false,\"changes\":[],\"over\":false,\"canMove\":true}", store.undo(ID));
+	}
+
+	@Test
+	public void removedGameIsGone() {
+		SessionStore store = new SessionStore(4);
+		final long FIRST = store.create(3, 3);
+		final long SECOND = store.create(5, 5);
+		assertTrue(FIRST != SECOND);
+
+		assertTrue(store.remove(FIRST));
+		assertFalse(store.remove(FIRST));
+		assertEquals(1, store.size());
+		assertNull(store.state(FIRST));
+		assertNull(store.move(FIRST, 1, 0));
+		assertNull(store.undo(FIRST));
+		assertNotNull(store.state(SECOND));
+	}
+
+}
@@ -0,0 +1,365 @@
+package edu.lockhaven.bloom_frogsandtoads.tools;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import edu.lockhaven.bloom_frogsandtoads.BoardReader;
+import edu.lockhaven.bloom_frogsandtoads.FrogsAndToads;
+import edu.lockhaven.bloom_frogsandtoads.LongIntMap;
+import edu.lockhaven.bloom_frogsandtoads.Moves;
+import edu.lockhaven.bloom_frogsandtoads.PackedBoard;
+
+/**
+ * Solves every position in a file of boards written by a BoardWriter.
+ * Positions are read one at a time and handed to a work stealing pool, with
+ *  only a few waiting per worker, so a file of any size is analyzed in the
+ *  same memory. Each position gets one tab separated line as soon as it is
+ *  done: its number in the file, whether it can be won, the fewest moves to
+ *  win, the space to tap first on a shortest solution and the time taken.
+ *  Lines are flushed every few results or every second, so a long run can
+ *  be followed, and a run that is killed keeps what it finished.
+ * Every position searched is remembered until its analysis ends, and a
+ *  position that needs more than the limit is reported as unknown. Positions
+ *  whose pieces can no longer reach their winning side are not searched.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class Analyzer {
+
+	//Positions read ahead of the workers, per worker.
+	private final static int QUEUED_PER_THREAD = 4;
+
+	//Results written between flushes, at most.
+	private final static int FLUSH_LINES = 64;
+	private final static long FLUSH_NANOS = 1_000_000_000L;
+
+	//Marks a position that cannot reach the goal.
+	private final static int NONE = Integer.MAX_VALUE;
+
+	public final static String SOLVABLE = "solvable";
+	public final static String UNSOLVABLE = "unsolvable";
+	public final static String UNKNOWN = "unknown";
+	public final static String TOO_LARGE = "too-large";
+	public final static String ERROR = "error";
+
+	private final int threads;
+	private final int limit;
+
+	//Each worker reuses one table of searched positions.
+	private final ThreadLocal<Search> searches;
+
+	/**
+	 * Creates an analyzer.
+	 * @param threads is the number of workers.
+	 * @param limit is the most positions searched for any one board.
+	 */
+	public Analyzer(int threads, int limit) {
+
+		if(threads <= 0 || limit <= 0) {
+			throw new IllegalArgumentException("Threads and limit must be positive.");
+		}
+
+		this.threads = threads;
+		this.limit = limit;
+		this.searches = ThreadLocal.withInitial(() -> new Search(this.limit));
+	}
+
+	/**
+	 * Analyzes every board in the input, writing results as they finish.
+	 * Results are written in the order they finish, not the order of the input.
+	 * @param in holds the boards.
+	 * @param out receives one line per board.
+	 * @return number of boards analyzed.
+	 * @throws IOException if the input is not valid or the results cannot be written.
+	 * @throws InterruptedException if the analysis is interrupted.
+	 */
+	public long run(BoardReader in, Writer out) throws IOException, InterruptedException {
+
+		final Semaphore QUEUED = new Semaphore(this.threads * Analyzer.QUEUED_PER_THREAD);
+		final Output OUTPUT = new Output(out);
+		ForkJoinPool pool = new ForkJoinPool(this.threads);
+		long count = 0;
+
+		try {
+			OUTPUT.write("#index\tstatus\tdistance\trow\tcolumn\tmicros\n");
+
+			FrogsAndToads game;
+			while((game = in.read()) != null) {
+
+				//Waits for a worker to finish before reading further ahead.
+				QUEUED.acquire();
+				OUTPUT.check();
+
+				final long INDEX = count++;
+				final FrogsAndToads GAME = game;
+				pool.execute(() -> {
+					try {
+						OUTPUT.write(this.analyze(INDEX, GAME));
+					} catch (IOException e) {
+						OUTPUT.fail(e);
+					} finally {
+						QUEUED.release();
+					}
+				});
+			}
+
+			pool.shutdown();
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			OUTPUT.check();
+			out.flush();
+
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Analyzes one board.
+	 * @param index is the number of the board in the input.
+	 * @param game is the board.
+	 * @return the result line.
+	 */
+	public String analyze(long index, FrogsAndToads game) {
+
+		final long START = System.nanoTime();
+		final int ROWS = game.getRowLength();
+		final int COLUMNS = game.getColumnLength();
+
+		String status;
+		int distance = -1;
+		int row = -1;
+		int column = -1;
+
+		if(!PackedBoard.fits(ROWS, COLUMNS)) {
+			status = Analyzer.TOO_LARGE;
+
+		} else {
+			Search search = this.searches.get();
+			try {
+				final long STATE = PackedBoard.encode(game);
+				search.begin(ROWS, COLUMNS);
+				final int FOUND = search.distance(STATE);
+
+				if(search.exhausted) {
+					status = Analyzer.UNKNOWN;
+				} else if(FOUND == Analyzer.NONE) {
+					status = Analyzer.UNSOLVABLE;
+				} else {
+					status = Analyzer.SOLVABLE;
+					distance = FOUND;
+
+					//The first move is the one to a position one move closer.
+					final int CODE = search.bestMove(STATE, FOUND);
+					if(CODE >= 0) {
+						row = game.getEmptySpaceRow() + Moves.rowOffset(CODE);
+						column = game.getEmptySpaceColumn() + Moves.columnOffset(CODE);
+					}
+				}
+			} catch (RuntimeException e) {
+				status = Analyzer.ERROR;
+			} finally {
+				search.end();
+			}
+		}
+
+		final long MICROS = (System.nanoTime() - START) / 1000;
+		return index + "\t" + status + "\t" + distance + "\t" + row + "\t" + column + "\t" + MICROS + "\n";
+	}
+
+	/**
+	 * Analyzes a file of boards from the command line.
+	 * Arguments are the input file, the output file, the number of workers and
+	 *  the most positions searched per board. A file name of "-" uses standard
+	 *  input or output.
+	 * @param args are the command line arguments.
+	 * @throws Exception if the analysis fails.
+	 */
+	public static void main(String[] args) throws Exception {
+		final String INPUT = args.length > 0 ? args[0] : "-";
+		final String OUTPUT = args.length > 1 ? args[1] : "-";
+		final int THREADS = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		final int LIMIT = args.length > 3 ? Integer.parseInt(args[3]) : 1 << 20;
+
+		final InputStream IN = INPUT.equals("-") ? System.in : new FileInputStream(INPUT);
+		final OutputStream OUT = OUTPUT.equals("-") ? System.out : new FileOutputStream(OUTPUT);
+
+		final long START = System.nanoTime();
+		long count;
+		try(BoardReader reader = new BoardReader(new InputStreamReader(IN, StandardCharsets.UTF_8));
+				Writer writer = new BufferedWriter(new OutputStreamWriter(OUT, StandardCharsets.UTF_8))) {
+			count = new Analyzer(THREADS, LIMIT).run(reader, writer);
+		}
+
+		System.err.println("Analyzed " + count + " boards in " + (System.nanoTime() - START) / 1_000_000 + " ms");
+	}
+
+	/**
+	 * Shortest distances from positions on one board size, found by trying
+	 *  every move and remembering every position tried.
+	 * Moves never come back to a position, so each one is solved once.
+	 */
+	private static class Search {
+
+		private final int limit;
+		private final LongIntMap known;
+		private int rows;
+		private int columns;
+		private long goal;
+		private boolean exhausted;
+
+		private Search(int limit) {
+			this.limit = limit;
+			this.known = new LongIntMap();
+		}
+
+		/**
+		 * Prepares for a board.
+		 * @param rows is the vertical length of the board.
+		 * @param columns is the horizontal length of the board.
+		 */
+		private void begin(int rows, int columns) {
+			this.rows = rows;
+			this.columns = columns;
+			this.goal = PackedBoard.goal(rows, columns);
+			this.exhausted = false;
+		}
+
+		/**
+		 * Forgets the board, keeping the table for the next one.
+		 */
+		private void end() {
+			this.known.clear();
+		}
+
+		/**
+		 * Finds the fewest moves from a position to the goal.
+		 * @param state is the packed position.
+		 * @return fewest moves, or NONE if the goal cannot be reached or the limit ran out.
+		 */
+		private int distance(long state) {
+
+			if(state == this.goal) {
+				return 0;
+			}
+
+			final int KNOWN = this.known.get(state, -1);
+			if(KNOWN >= 0) {
+				return KNOWN;
+			}
+
+			if(this.exhausted || this.known.size() >= this.limit) {
+				this.exhausted = true;
+				return Analyzer.NONE;
+			}
+
+			//Positions that can never be won are not worth following.
+			if(PackedBoard.stranded(state, this.goal, this.rows, this.columns)) {
+				this.known.put(state, Analyzer.NONE);
+				return Analyzer.NONE;
+			}
+
+			int best = Analyzer.NONE;
+			int codes = PackedBoard.legalMoves(state, this.rows, this.columns);
+			while(codes != 0) {
+				final int CODE = Integer.numberOfTrailingZeros(codes);
+				codes &= codes - 1;
+
+				final int NEXT = this.distance(PackedBoard.apply(state, this.columns, CODE));
+				if(NEXT != Analyzer.NONE && NEXT + 1 < best) {
+					best = NEXT + 1;
+				}
+			}
+
+			this.known.put(state, best);
+			return best;
+		}
+
+		/**
+		 * Finds a move that starts a shortest solution.
+		 * @param state is the packed position.
+		 * @param distance is the fewest moves from it to the goal.
+		 * @return move code, or -1 if the position is the goal.
+		 */
+		private int bestMove(long state, int distance) {
+			int codes = PackedBoard.legalMoves(state, this.rows, this.columns);
+			while(codes != 0) {
+				final int CODE = Integer.numberOfTrailingZeros(codes);
+				codes &= codes - 1;
+				if(this.distance(PackedBoard.apply(state, this.columns, CODE)) == distance - 1) {
+					return CODE;
+				}
+			}
+			return -1;
+		}
+
+	}
+
+	/**
+	 * Writes finished lines from any worker, keeping the first failure.
+	 */
+	private static class Output {
+
+		private final Writer out;
+		private IOException failure;
+		private int unflushed = 0;
+		private long flushed = System.nanoTime();
+
+		private Output(Writer out) {
+			this.out = out;
+		}
+
+		/**
+		 * Writes a line, flushing once enough lines or time have gone by.
+		 * @param line is the text to write.
+		 * @throws IOException if the text cannot be written.
+		 */
+		private synchronized void write(String line) throws IOException {
+			if(this.failure != null) {
+				return;
+			}
+
+			this.out.write(line);
+			final long NOW = System.nanoTime();
+			if(++this.unflushed >= Analyzer.FLUSH_LINES || NOW - this.flushed >= Analyzer.FLUSH_NANOS) {
+				this.out.flush();
+				this.unflushed = 0;
+				this.flushed = NOW;
+			}
+		}
+
+		/**
+		 * Records a failure from a worker.
+		 * @param e is the failure.
+		 */
+		private synchronized void fail(IOException e) {
+			if(this.failure == null) {
+				this.failure = e;
+			}
+		}
+
+		/**
+		 * Throws the first failure, if there was one.
+		 * @throws IOException if a worker could not write.
+		 */
+		private synchronized void check() throws IOException {
+			if(this.failure != null) {
+				throw this.failure;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,667 @@
+package edu.lockhaven.bloom_frogsandtoads.tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.lockhaven.bloom_frogsandtoads.LongHashSet;
+import edu.lockhaven.bloom_frogsandtoads.LongIntMap;
+import edu.lockhaven.bloom_frogsandtoads.Moves;
+import edu.lockhaven.bloom_frogsandtoads.PackedBoard;
+
+/**
+ * Counts the positions reachable from the start of a board.
+ * Frogs only move down and right and toads only up and left, so every move
+ *  adds one or two to the total row and column of the frogs less that of the
+ *  toads. Positions are grouped into levels by that total, and a position's
+ *  moves only reach the next two levels, so only three levels are ever held
+ *  in memory. Each level is saved as it is finished, which lets a long run
+ *  pick up where it stopped.
+ * @version 1.0
+ * @author Michael Bloom
+ */
+public class Census {
+
+	//Positions handed to a worker at once.
+	private final static int CHUNK = 4096;
+
+	private final static String CHECKPOINT = "census.properties";
+
+	private final int rows;
+	private final int columns;
+	private final File directory;
+	private final int threads;
+	private final long start;
+	private final long goal;
+
+	private long reachable = 0;
+	private long deadEnds = 0;
+	private long winnable = 0;
+	private int shortestLength = -1;
+	private long shortestCount = 0;
+
+	/**
+	 * Creates a census of a board.
+	 * @param rows is the vertical length of the board.
+	 * @param columns is the horizontal length of the board.
+	 * @param directory holds the saved levels and the checkpoint.
+	 * @param threads is the number of workers.
+	 */
+	public Census(int rows, int columns, File directory, int threads) {
+
+		if(!PackedBoard.fits(rows, columns)) {
+			throw new IllegalArgumentException("Board is too large to pack: " + rows + "x" + columns);
+		}
+
+		this.rows = rows;
+		this.columns = columns;
+		this.directory = directory;
+		this.threads = threads;
+		this.start = PackedBoard.start(rows, columns);
+		this.goal = PackedBoard.goal(rows, columns);
+	}
+
+	/**
+	 * Runs the census, resuming from the checkpoint if there is one.
+	 * @throws IOException if the levels cannot be saved or read.
+	 * @throws InterruptedException if the census is interrupted.
+	 */
+	public void run() throws IOException, InterruptedException {
+
+		if(!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException("Cannot create " + this.directory);
+		}
+
+		ExecutorService workers = Executors.newFixedThreadPool(this.threads);
+		try {
+			Properties checkpoint = this.readCheckpoint();
+			final int LAST = this.forward(workers, checkpoint);
+			this.backward(workers, checkpoint, LAST);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Census worker failed.", e.getCause());
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	/**
+	 * Retrieves the number of positions reachable from the start.
+	 * @return reachable positions, including the start.
+	 */
+	public long getReachable() {
+		return this.reachable;
+	}
+
+	/**
+	 * Retrieves the number of reachable positions with no legal moves, other than the goal.
+	 * @return dead ends.
+	 */
+	public long getDeadEnds() {
+		return this.deadEnds;
+	}
+
+	/**
+	 * Retrieves the number of reachable positions that can still win.
+	 * @return winnable positions, including the goal.
+	 */
+	public long getWinnable() {
+		return this.winnable;
+	}
+
+	/**
+	 * Retrieves the number of moves in a shortest solution.
+	 * @return moves, or -1 if the board cannot be won.
+	 */
+	public int getShortestLength() {
+		return this.shortestLength;
+	}
+
+	/**
+	 * Retrieves the number of different shortest solutions.
+	 * @return solutions, capped at {@link Long#MAX_VALUE}.
+	 */
+	public long getShortestCount() {
+		return this.shortestCount;
+	}
+
+	/**
+	 * Walks forward from the start one level at a time.
+	 * @param workers runs the chunks of each level.
+	 * @param checkpoint is the saved progress.
+	 * @return the last level with any positions.
+	 * @throws IOException if a level cannot be saved or read.
+	 * @throws InterruptedException if the census is interrupted.
+	 * @throws ExecutionException if a worker fails.
+	 */
+	private int forward(ExecutorService workers, Properties checkpoint)
+			throws IOException, InterruptedException, ExecutionException {
+
+		if(Boolean.parseBoolean(checkpoint.getProperty("forwardDone"))) {
+			return Integer.parseInt(checkpoint.getProperty("lastLevel"));
+		}
+
+		Level current;
+		Level next;
+		Level after;
+
+		final int COMPLETE = Integer.parseInt(checkpoint.getProperty("forwardComplete", "-1"));
+		if(COMPLETE < 1) {
+			//Starts from the start position.
+			current = new Level(0);
+			current.offer(this.start, 0, 1);
+			current.finish();
+			current.write(this.levelFile(0));
+			this.reachable = 1;
+			next = new Level(1);
+		} else {
+			//Rebuilds what the level before the last one added to the level after it.
+			Level previous = Level.read(this.levelFile(COMPLETE - 1), COMPLETE - 1);
+			current = Level.read(this.levelFile(COMPLETE), COMPLETE);
+			next = new Level(COMPLETE + 1);
+			this.expand(workers, previous, null, next);
+		}
+		after = new Level(current.index + 2);
+
+		while(current.size > 0 || next.size > 0) {
+
+			//Every position in the next level has now been reached.
+			this.deadEnds += this.expand(workers, current, next, after);
+			next.finish();
+			next.write(this.levelFile(next.index));
+			this.reachable += next.size;
+
+			//Records the shortest solutions once the goal is reached.
+			final int GOAL = next.find(this.goal);
+			if(GOAL >= 0) {
+				this.shortestLength = next.dist[GOAL];
+				this.shortestCount = next.ways[GOAL];
+			}
+
+			checkpoint.setProperty("forwardComplete", Integer.toString(next.index));
+			this.writeCheckpoint(checkpoint);
+
+			current = next;
+			next = after;
+			after = new Level(current.index + 2);
+		}
+
+		checkpoint.setProperty("forwardDone", "true");
+		checkpoint.setProperty("lastLevel", Integer.toString(current.index));
+		this.writeCheckpoint(checkpoint);
+		return current.index;
+	}
+
+	/**
+	 * Finds the moves of every position in a level, using all the workers.
+	 * @param workers runs the chunks of the level.
+	 * @param level is the level to expand.
+	 * @param next receives positions one level later, or null to skip them.
+	 * @param after receives positions two levels later.
+	 * @return number of dead ends in the level.
+	 * @throws InterruptedException if the census is interrupted.
+	 * @throws ExecutionException if a worker fails.
+	 */
+	private long expand(ExecutorService workers, final Level level, Level next, Level after)
+			throws InterruptedException, ExecutionException {
+
+		List<Future<Successors>> chunks = new ArrayList<>();
+		for(int from = 0; from < level.size; from += Census.CHUNK) {
+			final int FROM = from;
+			final int TO = Math.min(level.size, from + Census.CHUNK);
+			chunks.add(workers.submit(() -> this.successors(level, FROM, TO)));
+		}
+
+		//Merges in order, so the results never depend on the number of workers.
+		long deadEnds = 0;
+		for(Future<Successors> chunk : chunks) {
+			Successors successors = chunk.get();
+			deadEnds += successors.deadEnds;
+			for(int i = 0; i < successors.size; i++) {
+				Level target = successors.step[i] == 1 ? next : after;
+				if(target != null) {
+					target.offer(successors.states[i], successors.dist[i], successors.ways[i]);
+				}
+			}
+		}
+
+		return deadEnds;
+	}
+
+	/**
+	 * Finds the moves of part of a level.
+	 * @param level holds the positions.
+	 * @param from is the first position.
+	 * @param to is one past the last position.
+	 * @return every move out of the positions.
+	 */
+	private Successors successors(Level level, int from, int to) {
+
+		Successors successors = new Successors((to - from) * 2);
+		for(int i = from; i < to; i++) {
+			final long STATE = level.states[i];
+			int codes = PackedBoard.legalMoves(STATE, this.rows, this.columns);
+
+			if(codes == 0 && STATE != this.goal) {
+				++successors.deadEnds;
+			}
+
+			while(codes != 0) {
+				final int CODE = Integer.numberOfTrailingZeros(codes);
+				codes &= codes - 1;
+				successors.add(PackedBoard.apply(STATE, this.columns, CODE), level.dist[i] + 1,
+						level.ways[i], (byte) Moves.distance(CODE));
+			}
+		}
+
+		return successors;
+	}
+
+	/**
+	 * Walks back from the last level, keeping the positions that can reach the goal.
+	 * @param workers runs the chunks of each level.
+	 * @param checkpoint is the saved progress.
+	 * @param last is the last level with any positions.
+	 * @throws IOException if a level cannot be saved or read.
+	 * @throws InterruptedException if the census is interrupted.
+	 * @throws ExecutionException if a worker fails.
+	 */
+	private void backward(ExecutorService workers, Properties checkpoint, int last)
+			throws IOException, InterruptedException, ExecutionException {
+
+		//Picks up below the last level that was finished.
+		final int DONE = Integer.parseInt(checkpoint.getProperty("backwardComplete", Integer.toString(last + 1)));
+		this.winnable = Long.parseLong(checkpoint.getProperty("winnable", "0"));
+		LongHashSet next = DONE <= last ? Census.toSet(Census.readStates(this.winnableFile(DONE))) : new LongHashSet();
+		LongHashSet after = DONE + 1 <= last ? Census.toSet(Census.readStates(this.winnableFile(DONE + 1))) : new LongHashSet();
+
+		for(int index = DONE - 1; index >= 0; index--) {
+			final Level LEVEL = Level.read(this.levelFile(index), index);
+			final LongHashSet NEXT = next;
+			final LongHashSet AFTER = after;
+
+			//Only reads the sets of later levels, so the workers can share them.
+			List<Future<long[]>> chunks = new ArrayList<>();
+			for(int from = 0; from < LEVEL.size; from += Census.CHUNK) {
+				final int FROM = from;
+				final int TO = Math.min(LEVEL.size, from + Census.CHUNK);
+				chunks.add(workers.submit(() -> this.winners(LEVEL, FROM, TO, NEXT, AFTER)));
+			}
+
+			List<long[]> found = new ArrayList<>();
+			int total = 0;
+			for(Future<long[]> chunk : chunks) {
+				found.add(chunk.get());
+				total += found.get(found.size() - 1).length;
+			}
+			long[] winners = new long[total];
+			int copied = 0;
+			for(long[] part : found) {
+				System.arraycopy(part, 0, winners, copied, part.length);
+				copied += part.length;
+			}
+
+			this.winnable += winners.length;
+			Census.writeStates(this.winnableFile(index), winners);
+			checkpoint.setProperty("backwardComplete", Integer.toString(index));
+			checkpoint.setProperty("winnable", Long.toString(this.winnable));
+			this.writeCheckpoint(checkpoint);
+
+			after = next;
+			next = Census.toSet(winners);
+		}
+	}
+
+	/**
+	 * Finds the positions in part of a level that can still win.
+	 * @param level holds the positions.
+	 * @param from is the first position.
+	 * @param to is one past the last position.
+	 * @param next holds the winnable positions one level later.
+	 * @param after holds the winnable positions two levels later.
+	 * @return winnable positions.
+	 */
+	private long[] winners(Level level, int from, int to, LongHashSet next, LongHashSet after) {
+
+		long[] winners = new long[to - from];
+		int count = 0;
+
+		for(int i = from; i < to; i++) {
+			final long STATE = level.states[i];
+			boolean wins = STATE == this.goal;
+
+			int codes = wins ? 0 : PackedBoard.legalMoves(STATE, this.rows, this.columns);
+			while(codes != 0 && !wins) {
+				final int CODE = Integer.numberOfTrailingZeros(codes);
+				codes &= codes - 1;
+				final long MOVED = PackedBoard.apply(STATE, this.columns, CODE);
+				wins = (Moves.distance(CODE) == 1 ? next : after).contains(MOVED);
+			}
+
+			if(wins) {
+				winners[count++] = STATE;
+			}
+		}
+
+		return Arrays.copyOf(winners, count);
+	}
+
+	/**
+	 * Reads the checkpoint, or starts a new one.
+	 * @return the saved progress.
+	 * @throws IOException if the checkpoint is for a different board.
+	 */
+	private Properties readCheckpoint() throws IOException {
+
+		Properties checkpoint = new Properties();
+		File file = new File(this.directory, Census.CHECKPOINT);
+
+		if(file.exists()) {
+			try(InputStream in = new FileInputStream(file)) {
+				checkpoint.load(in);
+			}
+			if(!(this.rows + "x" + this.columns).equals(checkpoint.getProperty("board"))) {
+				throw new IOException(file + " is for a " + checkpoint.getProperty("board") + " board.");
+			}
+			this.reachable = Long.parseLong(checkpoint.getProperty("reachable", "0"));
+			this.deadEnds = Long.parseLong(checkpoint.getProperty("deadEnds", "0"));
+			this.shortestLength = Integer.parseInt(checkpoint.getProperty("shortestLength", "-1"));
+			this.shortestCount = Long.parseLong(checkpoint.getProperty("shortestCount", "0"));
+		}
+
+		checkpoint.setProperty("board", this.rows + "x" + this.columns);
+		return checkpoint;
+	}
+
+	/**
+	 * Saves the checkpoint by writing a new file and renaming it over the old one.
+	 * @param checkpoint is the progress to save.
+	 * @throws IOException if the checkpoint cannot be written.
+	 */
+	private void writeCheckpoint(Properties checkpoint) throws IOException {
+
+		if(!checkpoint.containsKey("backwardComplete")) {
+			checkpoint.setProperty("reachable", Long.toString(this.reachable));
+			checkpoint.setProperty("deadEnds", Long.toString(this.deadEnds));
+			checkpoint.setProperty("shortestLength", Integer.toString(this.shortestLength));
+			checkpoint.setProperty("shortestCount", Long.toString(this.shortestCount));
+		}
+
+		File file = new File(this.directory, Census.CHECKPOINT);
+		File temporary = new File(this.directory, Census.CHECKPOINT + ".tmp");
+		try(OutputStream out = new FileOutputStream(temporary)) {
+			checkpoint.store(out, "Census of a " + this.rows + "x" + this.columns + " board");
+		}
+		if(!temporary.renameTo(file) && !(file.delete() && temporary.renameTo(file))) {
+			throw new IOException("Cannot replace " + file);
+		}
+	}
+
+	/**
+	 * Retrieves the file of a level.
+	 * @param index of the level.
+	 * @return file holding the level.
+	 */
+	private File levelFile(int index) {
+		return new File(this.directory, String.format("level-%04d.bin", index));
+	}
+
+	/**
+	 * Retrieves the file of the winnable positions of a level.
+	 * @param index of the level.
+	 * @return file holding the winnable positions.
+	 */
+	private File winnableFile(int index) {
+		return new File(this.directory, String.format("winnable-%04d.bin", index));
+	}
+
+	/**
+	 * Writes a list of positions.
+	 * @param file to write.
+	 * @param states are the packed positions.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private static void writeStates(File file, long[] states) throws IOException {
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(states.length);
+			for(long state : states) {
+				out.writeLong(state);
+			}
+		}
+	}
+
+	/**
+	 * Reads a list of positions.
+	 * @param file to read.
+	 * @return the packed positions.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private static long[] readStates(File file) throws IOException {
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			long[] states = new long[in.readInt()];
+			for(int i = 0; i < states.length; i++) {
+				states[i] = in.readLong();
+			}
+			return states;
+		}
+	}
+
+	/**
+	 * Puts positions in a set for quick lookups.
+	 * @param states are the packed positions.
+	 * @return set of the positions.
+	 */
+	private static LongHashSet toSet(long[] states) {
+		LongHashSet set = new LongHashSet(states.length);
+		for(long state : states) {
+			set.add(state);
+		}
+		return set;
+	}
+
+	/**
+	 * Runs a census from the command line and prints the counts.
+	 * Arguments are rows, columns, the directory for saved levels and the number of workers.
+	 * @param args are the command line arguments.
+	 * @throws Exception if the census fails.
+	 */
+	public static void main(String[] args) throws Exception {
+		final int ROWS = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		final int COLUMNS = args.length > 1 ? Integer.parseInt(args[1]) : ROWS;
+		final File DIRECTORY = new File(args.length > 2 ? args[2] : "census-" + ROWS + "x" + COLUMNS);
+		final int THREADS = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+		final long START = System.nanoTime();
+		Census census = new Census(ROWS, COLUMNS, DIRECTORY, THREADS);
+		census.run();
+
+		System.out.println("Board " + ROWS + "x" + COLUMNS);
+		System.out.println("  reachable  " + census.getReachable());
+		System.out.println("  dead ends  " + census.getDeadEnds());
+		System.out.println("  winnable   " + census.getWinnable());
+		System.out.println("  shortest   " + census.getShortestLength() + " moves, "
+				+ census.getShortestCount() + " solutions");
+		System.out.println("  time       " + (System.nanoTime() - START) / 1_000_000 + " ms");
+	}
+
+	/**
+	 * Positions that share one level total, with the length and number of
+	 *  shortest paths from the start to each one.
+	 */
+	private static class Level {
+
+		private final int index;
+		private LongIntMap slots = new LongIntMap();
+		private long[] states = new long[16];
+		private int[] dist = new int[16];
+		private long[] ways = new long[16];
+		private int size = 0;
+
+		private Level(int index) {
+			this.index = index;
+		}
+
+		/**
+		 * Adds a path to a position, keeping only the shortest ones.
+		 * @param state is the packed position.
+		 * @param dist is the length of the path.
+		 * @param ways is the number of paths of that length.
+		 */
+		private void offer(long state, int dist, long ways) {
+
+			final int SLOT = this.slots.get(state, -1);
+			if(SLOT < 0) {
+				if(this.size == this.states.length) {
+					this.states = Arrays.copyOf(this.states, this.size * 2);
+					this.dist = Arrays.copyOf(this.dist, this.size * 2);
+					this.ways = Arrays.copyOf(this.ways, this.size * 2);
+				}
+				this.slots.put(state, this.size);
+				this.states[this.size] = state;
+				this.dist[this.size] = dist;
+				this.ways[this.size] = ways;
+				++this.size;
+
+			} else if(dist < this.dist[SLOT]) {
+				this.dist[SLOT] = dist;
+				this.ways[SLOT] = ways;
+
+			} else if(dist == this.dist[SLOT]) {
+				//Stops at the largest long instead of wrapping around.
+				final long SUM = this.ways[SLOT] + ways;
+				this.ways[SLOT] = SUM < 0 ? Long.MAX_VALUE : SUM;
+			}
+		}
+
+		/**
+		 * Sorts the positions once the level is complete and drops the lookup table.
+		 */
+		private void finish() {
+
+			long[] sorted = Arrays.copyOf(this.states, this.size);
+			Arrays.parallelSort(sorted);
+
+			int[] dist = new int[this.size];
+			long[] ways = new long[this.size];
+			for(int i = 0; i < this.size; i++) {
+				final int SLOT = this.slots.get(sorted[i], -1);
+				dist[i] = this.dist[SLOT];
+				ways[i] = this.ways[SLOT];
+			}
+
+			this.states = sorted;
+			this.dist = dist;
+			this.ways = ways;
+			this.slots = null;
+		}
+
+		/**
+		 * Finds a position in a finished level.
+		 * @param state is the packed position.
+		 * @return index of the position, or -1 if it is not in the level.
+		 */
+		private int find(long state) {
+			final int FOUND = Arrays.binarySearch(this.states, 0, this.size, state);
+			return FOUND < 0 ? -1 : FOUND;
+		}
+
+		/**
+		 * Saves a finished level.
+		 * @param file to write.
+		 * @throws IOException if the file cannot be written.
+		 */
+		private void write(File file) throws IOException {
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+				out.writeInt(this.size);
+				for(int i = 0; i < this.size; i++) {
+					out.writeLong(this.states[i]);
+					out.writeInt(this.dist[i]);
+					out.writeLong(this.ways[i]);
+				}
+			}
+		}
+
+		/**
+		 * Reads a finished level.
+		 * @param file to read.
+		 * @param index of the level.
+		 * @return the level.
+		 * @throws IOException if the file cannot be read.
+		 */
+		private static Level read(File file, int index) throws IOException {
+			try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+				Level level = new Level(index);
+				level.size = in.readInt();
+				level.states = new long[level.size];
+				level.dist = new int[level.size];
+				level.ways = new long[level.size];
+				for(int i = 0; i < level.size; i++) {
+					level.states[i] = in.readLong();
+					level.dist[i] = in.readInt();
+					level.ways[i] = in.readLong();
+				}
+				level.slots = null;
+				return level;
+			}
+		}
+
+	}
+
+	/**
+	 * Moves found by one worker.
+	 */
+	private static class Successors {
+
+		private long[] states;
+		private int[] dist;
+		private long[] ways;
+		private byte[] step;
+		private int size = 0;
+		private long deadEnds = 0;
+
+		private Successors(int capacity) {
+			capacity = Math.max(capacity, 16);
+			this.states = new long[capacity];
+			this.dist = new int[capacity];
+			this.ways = new long[capacity];
+			this.step = new byte[capacity];
+		}
+
+		/**
+		 * Adds a move.
+		 * @param state is the packed position after the move.
+		 * @param dist is the length of the shortest paths to it.
+		 * @param ways is the number of those paths.
+		 * @param step is how many levels the move goes up.
+		 */
+		private void add(long state, int dist, long ways, byte step) {
+			if(this.size == this.states.length) {
+				this.states = Arrays.copyOf(this.states, this.size * 2);
+				this.dist = Arrays.copyOf(this.dist, this.size * 2);
+				this.ways = Arrays.copyOf(this.ways, this.size * 2);
+				this.step = Arrays.copyOf(this.step, this.size * 2);
+			}
+			this.states[this.size] = state;
+			this.dist[this.size] = dist;
+			this.ways[this.size] = ways;
+			this.step[this.size] = step;
+			++this.size;
+		}
+
+	}
+
+}
@@ -0,0 +1,312 @@
+package edu.lockhaven.bloom_frogsandtoads.tools;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import edu.lockhaven.bloom_frogsandtoads.LongHashSet;
+import edu.lockhaven.bloom_frogsandtoads.Moves;
+import edu.lockhaven.bloom_frogsandtoads.PackedBoard;
+
+/**
+ * Writes every position reachable from the start of a board, with its moves.
+ * Positions are found one level at a time in the same way as the
+ *  {@link Census}, so only three levels are ever held in memory, and each
+ *  level is written as soon as it is complete. Every position is named by
+ *  its packed board, which is the same on every run.
+ * The graph file starts with the magic number, rows, columns, number of
+ *  positions and number of moves. Then each position is its packed board,
+ *  a byte with one bit set for every legal move code, and the packed board
+ *  after each of those moves in order of move code. Positions come level by
+ *  level and in ascending order within a level. The optional edge list has
+ *  one line per move: the two packed boards in hexadecimal and the move code.
+ * @version 1.0
+ * @author Michael Bloom
+ * @see PackedBoard
+ */
+public class GraphExporter {
+
+	//Marks the start of a graph file: "FTG" and the format version.
+	public final static int MAGIC = 0x46544701;
+
+	//Bytes written to a file at a time.
+	private final static int BUFFER_SIZE = 1 << 20;
+
+	//Where the counts go in the header once they are known.
+	private final static long COUNTS_OFFSET = 4 + 4 + 4;
+
+	private final static byte[] HEX = "0123456789abcdef".getBytes();
+
+	private final int rows;
+	private final int columns;
+
+	private long nodes = 0;
+	private long edges = 0;
+
+	/**
+	 * Creates an exporter for a board.
+	 * @param rows is the vertical length of the board.
+	 * @param columns is the horizontal length of the board.
+	 */
+	public GraphExporter(int rows, int columns) {
+
+		if(!PackedBoard.fits(rows, columns)) {
+			throw new IllegalArgumentException("Board is too large to pack: " + rows + "x" + columns);
+		}
+
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	/**
+	 * Writes the graph.
+	 * @param graph receives the positions and their moves.
+	 * @param edgeList receives one line per move, or null to skip it.
+	 * @throws IOException if a file cannot be written.
+	 */
+	public void export(File graph, File edgeList) throws IOException {
+
+		this.nodes = 0;
+		this.edges = 0;
+
+		try(Output out = new Output(graph);
+				Output text = edgeList == null ? null : new Output(edgeList)) {
+
+			out.putInt(GraphExporter.MAGIC);
+			out.putInt(this.rows);
+			out.putInt(this.columns);
+			out.putLong(0);
+			out.putLong(0);
+
+			if(text != null) {
+				text.putText("#from\tto\tcode\n");
+			}
+
+			Level current = new Level();
+			Level next = new Level();
+			Level after = new Level();
+			current.add(PackedBoard.start(this.rows, this.columns));
+
+			while(current.size > 0 || next.size > 0) {
+
+				//Every position of the current level has been reached by now.
+				current.finish();
+				for(int i = 0; i < current.size; i++) {
+					this.write(current.states[i], next, after, out, text);
+				}
+				this.nodes += current.size;
+
+				current.clear();
+				Level done = current;
+				current = next;
+				next = after;
+				after = done;
+			}
+
+			//Fills in the counts now that they are known.
+			out.flush();
+			ByteBuffer counts = ByteBuffer.allocate(8 + 8);
+			counts.putLong(this.nodes).putLong(this.edges).flip();
+			out.channel.write(counts, GraphExporter.COUNTS_OFFSET);
+		}
+	}
+
+	/**
+	 * Writes one position and adds the positions its moves reach.
+	 * @param state is the packed position.
+	 * @param next receives positions one level later.
+	 * @param after receives positions two levels later.
+	 * @param out receives the position.
+	 * @param text receives the moves, or null.
+	 * @throws IOException if a file cannot be written.
+	 */
+	private void write(long state, Level next, Level after, Output out, Output text) throws IOException {
+
+		final int MOVES = PackedBoard.legalMoves(state, this.rows, this.columns);
+		out.putLong(state);
+		out.putByte(MOVES);
+
+		int codes = MOVES;
+		while(codes != 0) {
+			final int CODE = Integer.numberOfTrailingZeros(codes);
+			codes &= codes - 1;
+
+			final long TO = PackedBoard.apply(state, this.columns, CODE);
+			(Moves.distance(CODE) == 1 ? next : after).add(TO);
+			out.putLong(TO);
+
+			if(text != null) {
+				text.putHex(state);
+				text.putByte('\t');
+				text.putHex(TO);
+				text.putByte('\t');
+				text.putByte('0' + CODE);
+				text.putByte('\n');
+			}
+		}
+
+		this.edges += Integer.bitCount(MOVES);
+	}
+
+	/**
+	 * Retrieves the number of positions written by the last export.
+	 * @return reachable positions, including the start.
+	 */
+	public long getNodes() {
+		return this.nodes;
+	}
+
+	/**
+	 * Retrieves the number of moves written by the last export.
+	 * @return moves between reachable positions.
+	 */
+	public long getEdges() {
+		return this.edges;
+	}
+
+	/**
+	 * Exports a graph from the command line.
+	 * Arguments are rows, columns, the graph file and, optionally, the edge list file.
+	 * @param args are the command line arguments.
+	 * @throws Exception if the export fails.
+	 */
+	public static void main(String[] args) throws Exception {
+		final int ROWS = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		final int COLUMNS = args.length > 1 ? Integer.parseInt(args[1]) : ROWS;
+		final File GRAPH = new File(args.length > 2 ? args[2] : "graph-" + ROWS + "x" + COLUMNS + ".bin");
+		final File EDGES = args.length > 3 ? new File(args[3]) : null;
+
+		final long START = System.nanoTime();
+		GraphExporter exporter = new GraphExporter(ROWS, COLUMNS);
+		exporter.export(GRAPH, EDGES);
+
+		System.out.println("Board " + ROWS + "x" + COLUMNS);
+		System.out.println("  positions  " + exporter.getNodes());
+		System.out.println("  moves      " + exporter.getEdges());
+		System.out.println("  time       " + (System.nanoTime() - START) / 1_000_000 + " ms");
+	}
+
+	/**
+	 * Positions that share one level total.
+	 */
+	private static class Level {
+
+		private LongHashSet seen = new LongHashSet();
+		private long[] states = new long[16];
+		private int size = 0;
+
+		/**
+		 * Adds a position if it is not already in the level.
+		 * @param state is the packed position.
+		 */
+		private void add(long state) {
+			if(this.seen.add(state)) {
+				if(this.size == this.states.length) {
+					this.states = Arrays.copyOf(this.states, this.size * 2);
+				}
+				this.states[this.size++] = state;
+			}
+		}
+
+		/**
+		 * Sorts the positions once the level is complete.
+		 */
+		private void finish() {
+			Arrays.sort(this.states, 0, this.size);
+		}
+
+		/**
+		 * Empties the level so it can be reused, keeping its arrays.
+		 */
+		private void clear() {
+			this.seen.clear();
+			this.size = 0;
+		}
+
+	}
+
+	/**
+	 * Writes to a file through one reused buffer.
+	 */
+	private static class Output implements Closeable {
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(GraphExporter.BUFFER_SIZE);
+
+		private Output(File file) throws IOException {
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		}
+
+		/**
+		 * Makes room in the buffer.
+		 * @param bytes is the number of bytes about to be written.
+		 * @throws IOException if the buffer cannot be written.
+		 */
+		private void reserve(int bytes) throws IOException {
+			if(this.buffer.remaining() < bytes) {
+				this.flush();
+			}
+		}
+
+		private void putByte(int value) throws IOException {
+			this.reserve(1);
+			this.buffer.put((byte) value);
+		}
+
+		private void putInt(int value) throws IOException {
+			this.reserve(4);
+			this.buffer.putInt(value);
+		}
+
+		private void putLong(long value) throws IOException {
+			this.reserve(8);
+			this.buffer.putLong(value);
+		}
+
+		/**
+		 * Writes a number in hexadecimal without leading zeros.
+		 * @param value is the number, read as unsigned.
+		 * @throws IOException if the buffer cannot be written.
+		 */
+		private void putHex(long value) throws IOException {
+			this.reserve(16);
+			for(int shift = Math.max(0, 60 - Long.numberOfLeadingZeros(value) / 4 * 4); shift >= 0; shift -= 4) {
+				this.buffer.put(GraphExporter.HEX[(int) (value >>> shift) & 0xF]);
+			}
+		}
+
+		private void putText(String text) throws IOException {
+			for(int i = 0; i < text.length(); i++) {
+				this.putByte(text.charAt(i));
+			}
+		}
+
+		/**
+		 * Writes everything in the buffer to the file.
+		 * @throws IOException if the buffer cannot be written.
+		 */
+		private void flush() throws IOException {
+			this.buffer.flip();
+			while(this.buffer.hasRemaining()) {
+				this.channel.write(this.buffer);
+			}
+			this.buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				this.flush();
+			} finally {
+				this.channel.close();
+			}
+		}
+
+	}
+
+}
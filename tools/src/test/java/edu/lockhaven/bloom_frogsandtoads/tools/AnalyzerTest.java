@@ -0,0 +1,127 @@
+package edu.lockhaven.bloom_frogsandtoads.tools;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.lockhaven.bloom_frogsandtoads.BidirectionalSolver;
+import edu.lockhaven.bloom_frogsandtoads.BoardReader;
+import edu.lockhaven.bloom_frogsandtoads.BoardWriter;
+import edu.lockhaven.bloom_frogsandtoads.FrogsAndToads;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks every result line of a small corpus against the bidirectional solver.
+ */
+public class AnalyzerTest {
+
+	@Test
+	public void resultsMatchSolver() throws Exception {
+		final List<FrogsAndToads> GAMES = AnalyzerTest.corpus(300);
+		final String[][] RESULTS = AnalyzerTest.analyze(new Analyzer(4, 1 << 20), GAMES);
+		BidirectionalSolver solver = new BidirectionalSolver(1 << 22);
+
+		int solvable = 0;
+		for(int i = 0; i < GAMES.size(); i++) {
+			final FrogsAndToads GAME = GAMES.get(i);
+			final String[] RESULT = RESULTS[i];
+			assertNotNull("board " + i, RESULT);
+
+			final byte[] SOLUTION = solver.solve(GAME);
+			if(SOLUTION == null) {
+				assertEquals("board " + i, Analyzer.UNSOLVABLE, RESULT[1]);
+				assertEquals("-1", RESULT[2]);
+				continue;
+			}
+			++solvable;
+
+			assertEquals("board " + i, Analyzer.SOLVABLE, RESULT[1]);
+			assertEquals("board " + i, SOLUTION.length, Integer.parseInt(RESULT[2]));
+			if(SOLUTION.length == 0) {
+				assertEquals("-1", RESULT[3]);
+				continue;
+			}
+
+			//The first move may differ from the solver's, but it must lead one move closer.
+			FrogsAndToads next = GAME.fork(false);
+			assertTrue("board " + i, next.move(Integer.parseInt(RESULT[3]), Integer.parseInt(RESULT[4])));
+			assertEquals("board " + i, SOLUTION.length - 1, solver.solve(next).length);
+		}
+
+		//The corpus has both kinds of board.
+		assertTrue(solvable > 0 && solvable < GAMES.size());
+	}
+
+	@Test
+	public void tooLargeAndUnknownBoards() throws Exception {
+		List<FrogsAndToads> games = new ArrayList<>();
+		games.add(new FrogsAndToads(9, 9));
+		games.add(new FrogsAndToads(5, 5));
+
+		//Five positions are far too few to solve a 5 x 5 board.
+		final String[][] RESULTS = AnalyzerTest.analyze(new Analyzer(1, 5), games);
+		assertEquals(Analyzer.TOO_LARGE, RESULTS[0][1]);
+		assertEquals(Analyzer.UNKNOWN, RESULTS[1][1]);
+		assertEquals("-1", RESULTS[1][2]);
+	}
+
+	/**
+	 * Creates boards by playing random legal moves on 3 x 3 and 3 x 5 boards.
+	 * @param count is the number of boards.
+	 * @return the boards.
+	 */
+	private static List<FrogsAndToads> corpus(int count) {
+		final Random RANDOM = new Random(11);
+		List<FrogsAndToads> games = new ArrayList<>();
+		for(int i = 0; i < count; i++) {
+			FrogsAndToads game = i % 3 == 0 ? new FrogsAndToads(3, 3) : new FrogsAndToads(3, 5);
+			for(int d = RANDOM.nextInt(25); d > 0 && game.canMove(); d--) {
+				int codes = game.getLegalMoveCodes();
+				for(int skip = RANDOM.nextInt(Integer.bitCount(codes)); skip > 0; skip--) {
+					codes &= codes - 1;
+				}
+				game.move((byte) Integer.numberOfTrailingZeros(codes), false);
+			}
+			games.add(game);
+		}
+		return games;
+	}
+
+	/**
+	 * Writes boards as a corpus and analyzes it.
+	 * @param analyzer to run.
+	 * @param games are the boards.
+	 * @return the fields of each result line, by board index.
+	 * @throws Exception if the analysis fails.
+	 */
+	private static String[][] analyze(Analyzer analyzer, List<FrogsAndToads> games) throws Exception {
+		StringWriter text = new StringWriter();
+		try(BoardWriter writer = new BoardWriter(text)) {
+			for(FrogsAndToads game : games) {
+				writer.write(game);
+			}
+		}
+
+		StringWriter out = new StringWriter();
+		try(BoardReader reader = new BoardReader(new StringReader(text.toString()))) {
+			assertEquals(games.size(), analyzer.run(reader, out));
+		}
+
+		//Lines come in the order they finish, so they are put back by index.
+		String[][] results = new String[games.size()][];
+		for(String line : out.toString().split("\n")) {
+			if(!line.startsWith("#")) {
+				final String[] FIELDS = line.split("\t");
+				assertEquals(6, FIELDS.length);
+				results[Integer.parseInt(FIELDS[0])] = FIELDS;
+			}
+		}
+		return results;
+	}
+
+}
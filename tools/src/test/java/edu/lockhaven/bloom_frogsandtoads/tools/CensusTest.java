@@ -0,0 +1,79 @@
+package edu.lockhaven.bloom_frogsandtoads.tools;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the census counts of small boards and that a finished census resumes to the same counts.
+ */
+public class CensusTest {
+
+	private File directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		this.directory = Files.createTempDirectory("census").toFile();
+	}
+
+	@After
+	public void deleteDirectory() {
+		File[] files = this.directory.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				file.delete();
+			}
+		}
+		this.directory.delete();
+	}
+
+	@Test
+	public void countsOf3x3() throws Exception {
+		Census census = new Census(3, 3, this.directory, 2);
+		census.run();
+
+		assertEquals(311, census.getReachable());
+		assertEquals(26, census.getDeadEnds());
+		assertEquals(74, census.getWinnable());
+		assertEquals(12, census.getShortestLength());
+		assertEquals(50, census.getShortestCount());
+	}
+
+	@Test
+	public void countsOf3x7() throws Exception {
+		Census census = new Census(3, 7, this.directory, 4);
+		census.run();
+
+		assertEquals(1_143_752, census.getReachable());
+		assertEquals(45_731, census.getDeadEnds());
+		assertEquals(50_764, census.getWinnable());
+		assertEquals(34, census.getShortestLength());
+		assertEquals(10, census.getShortestCount());
+	}
+
+	@Test
+	public void finishedCensusResumes() throws Exception {
+		new Census(3, 5, this.directory, 2).run();
+
+		Census resumed = new Census(3, 5, this.directory, 2);
+		resumed.run();
+
+		assertEquals(18_206, resumed.getReachable());
+		assertEquals(911, resumed.getDeadEnds());
+		assertEquals(1_450, resumed.getWinnable());
+		assertEquals(22, resumed.getShortestLength());
+		assertEquals(4, resumed.getShortestCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tooLargeBoardFails() {
+		new Census(9, 9, this.directory, 1);
+	}
+
+}
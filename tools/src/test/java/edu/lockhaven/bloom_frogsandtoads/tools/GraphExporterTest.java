@@ -0,0 +1,124 @@
+package edu.lockhaven.bloom_frogsandtoads.tools;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import edu.lockhaven.bloom_frogsandtoads.LongHashSet;
+import edu.lockhaven.bloom_frogsandtoads.PackedBoard;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the graph file and edge list written for a 3 x 3 board.
+ */
+public class GraphExporterTest {
+
+	private File directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		this.directory = Files.createTempDirectory("graph").toFile();
+	}
+
+	@After
+	public void deleteDirectory() {
+		File[] files = this.directory.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				file.delete();
+			}
+		}
+		this.directory.delete();
+	}
+
+	@Test
+	public void exports3x3() throws IOException {
+		final File GRAPH = new File(this.directory, "graph.bin");
+		final File EDGES = new File(this.directory, "edges.tsv");
+		GraphExporter exporter = new GraphExporter(3, 3);
+		exporter.export(GRAPH, EDGES);
+
+		//Matches the census of 3 x 3.
+		assertEquals(311, exporter.getNodes());
+		assertEquals(480, exporter.getEdges());
+
+		LongHashSet nodes = new LongHashSet();
+		long edges = 0;
+
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(GRAPH)))) {
+			assertEquals(GraphExporter.MAGIC, in.readInt());
+			assertEquals(3, in.readInt());
+			assertEquals(3, in.readInt());
+			assertEquals(311, in.readLong());
+			assertEquals(480, in.readLong());
+
+			for(int i = 0; i < 311; i++) {
+				final long STATE = in.readLong();
+				assertTrue("position written twice", nodes.add(STATE));
+
+				final int MOVES = in.readByte() & 0xFF;
+				assertEquals(PackedBoard.legalMoves(STATE, 3, 3), MOVES);
+				for(int codes = MOVES; codes != 0; codes &= codes - 1) {
+					final long TO = in.readLong();
+					assertEquals(PackedBoard.apply(STATE, 3, Integer.numberOfTrailingZeros(codes)), TO);
+					++edges;
+				}
+			}
+			assertEquals(-1, in.read());
+		}
+
+		assertEquals(480, edges);
+		assertTrue(nodes.contains(PackedBoard.start(3, 3)));
+		assertTrue(nodes.contains(PackedBoard.goal(3, 3)));
+
+		//Every move lands on a position that has its own record.
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(GRAPH)))) {
+			in.skipBytes(4 + 4 + 4 + 8 + 8);
+			for(int i = 0; i < 311; i++) {
+				in.readLong();
+				for(int codes = in.readByte() & 0xFF; codes != 0; codes &= codes - 1) {
+					assertTrue(nodes.contains(in.readLong()));
+				}
+			}
+		}
+
+		//The edge list has a header line and then one line per move.
+		long lines = 0;
+		try(BufferedReader reader = new BufferedReader(new FileReader(EDGES))) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(lines++ > 0) {
+					final String[] FIELDS = line.split("\t");
+					assertEquals(3, FIELDS.length);
+					assertTrue(nodes.contains(Long.parseUnsignedLong(FIELDS[0], 16)));
+					assertTrue(nodes.contains(Long.parseUnsignedLong(FIELDS[1], 16)));
+				}
+			}
+		}
+		assertEquals(480 + 1, lines);
+	}
+
+	@Test
+	public void graphWithoutEdgeList() throws IOException {
+		final File GRAPH = new File(this.directory, "graph.bin");
+		new GraphExporter(3, 5).export(GRAPH, null);
+		assertEquals(1, this.directory.listFiles().length);
+		assertTrue(GRAPH.length() > 4 + 4 + 4 + 8 + 8);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tooLargeBoardFails() {
+		new GraphExporter(9, 9);
+	}
+
+}